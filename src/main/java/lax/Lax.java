@@ -1,14 +1,21 @@
 package lax;
 
 import java.io.IOException;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 import lax.catalogue.NoteList;
 import lax.catalogue.TaskList;
 import lax.command.Command;
-import lax.command.Parser;
-import lax.exception.InvalidCommandException;
+import lax.command.CommandDispatcher;
+import lax.command.RunCommand;
+import lax.exception.Result;
+import lax.stats.Stats;
 import lax.storage.NotesStorage;
+import lax.storage.Storage;
+import lax.storage.StorageWriter;
 import lax.storage.TaskStorage;
 import lax.ui.Ui;
 
@@ -18,6 +25,11 @@ import lax.ui.Ui;
  * to be stored and managed in a database files specified.
  */
 public class Lax {
+    /**
+     * The error of a run command within a script or with other commands, which is created once.
+     */
+    private static final Result<Command> NESTED_SCRIPT = Result.error("A script can only be run on its own.");
+
     /**
      * User Interface of the chatbot.
      */
@@ -53,9 +65,39 @@ public class Lax {
      * the list of items.
      */
     public Lax(String taskPath, String notesPath) throws IOException {
+        this(taskPath, notesPath, false);
+    }
+
+    /**
+     * Constructs the chatbot with strings <code>taskPath</code> and <code>notesPath</code> to store
+     * the list of items, with the tasks kept in columns if <code>isColumnar</code>, which takes less memory
+     * for large lists but scans the tasks to find and filter them.
+     */
+    public Lax(String taskPath, String notesPath, boolean isColumnar) throws IOException {
+        this(taskPath, notesPath, isColumnar, false);
+    }
+
+    /**
+     * Constructs the chatbot with strings <code>taskPath</code> and <code>notesPath</code> to store
+     * the list of items, with the tasks kept in columns if <code>isColumnar</code>. If <code>isBinary</code>,
+     * the items are stored in binary files beside the text files instead, which are copied from the text files
+     * when they do not exist yet. The text files are then kept as they are.
+     */
+    public Lax(String taskPath, String notesPath, boolean isColumnar, boolean isBinary) throws IOException {
         ui = new Ui();
-        taskStorage = new TaskStorage(taskPath);
-        notesStorage = new NotesStorage(notesPath);
+        taskStorage = new TaskStorage(isBinary ? Storage.toBinaryPath(taskPath) : taskPath);
+        notesStorage = new NotesStorage(isBinary ? Storage.toBinaryPath(notesPath) : notesPath);
+        taskStorage.setColumnar(isColumnar);
+        taskStorage.setJournaled(true);
+        notesStorage.setJournaled(true);
+        if (isBinary) {
+            taskStorage.setFormat(Storage.Format.BINARY);
+            notesStorage.setFormat(Storage.Format.BINARY);
+            taskStorage.setSourcePath(taskPath);
+            notesStorage.setSourcePath(notesPath);
+        }
+        taskStorage.setDurability(StorageWriter.Durability.GROUP);
+        notesStorage.setDurability(StorageWriter.Durability.GROUP);
         taskList = taskStorage.loadTask();
         notesList = notesStorage.loadNotes();
 
@@ -68,33 +110,175 @@ public class Lax {
     }
 
     /**
-     * Generates a response for the user's chat message.
+     * Generates a response for the user's chat message. A message of several commands separated by ";" is
+     * replied with the replies of every command, in order, and a run command with the replies of every
+     * command of its script. A command of the message that fails is reported and skipped, and the changes of
+     * the rest are kept.
      */
     public String getResponse(String input) {
+        long start = System.nanoTime();
+        List<Result<Command>> pipeline = CommandDispatcher.dispatchAll(input);
+        Stats.DISPATCH.record(System.nanoTime() - start);
+        if (pipeline.size() > 1) {
+            StringJoiner replies = new StringJoiner("\n\n");
+            runAll(pipeline, replies::add, false);
+            return replies.toString();
+        }
+
+        Result<Command> dispatched = pipeline.get(0);
+        if (!dispatched.isValid() || !(dispatched.getValue() instanceof RunCommand run)) {
+            return respond(dispatched);
+        }
+
+        try {
+            StringJoiner replies = new StringJoiner("\n\n");
+            boolean isDone = runScript(run.readScript(), replies::add);
+            commandType = isDone ? Command.CommandType.RUN.name() : Command.CommandType.INVALID.name();
+            return replies.toString();
+        } catch (IOException e) {
+            commandType = Command.CommandType.INVALID.name();
+            return ui.showError(e.getMessage());
+        }
+    }
+
+    /**
+     * Executes the dispatched command against the tasks or the notes, and replies with its result.
+     */
+    private String respond(Result<Command> dispatched) {
         String invalidCmd = Command.CommandType.INVALID.name();
         try {
-            if (input == null || input.trim().isEmpty()) {
-                throw new InvalidCommandException("Empty command");
+            if (!dispatched.isValid()) {
+                commandType = invalidCmd;
+                return ui.showError(dispatched.getMessage());
             }
 
-            Command command = Parser.parse(input);
+            Command command = dispatched.getValue();
             commandType = command.getCommandType().name();
             assert !commandType.isEmpty() : "command type should not be empty";
 
-            if (command.getNoteCommand()) {
-                return command.execute(notesList, ui, notesStorage);
-            } else {
-                return command.execute(taskList, ui, taskStorage);
+            Result<String> reply;
+            long start = System.nanoTime();
+            try {
+                reply = command.getNoteCommand()
+                        ? command.run(notesList, ui, notesStorage)
+                        : command.run(taskList, ui, taskStorage);
+            } finally {
+                Stats.executionOf(command.getCommandType()).record(System.nanoTime() - start);
             }
-        } catch (InvalidCommandException e) {
-            commandType = invalidCmd;
-            return ui.showError(e.getMessage());
-        } catch (DateTimeParseException e) {
-            commandType = invalidCmd;
-            return ui.invalidDateTime();
+            if (!reply.isValid()) {
+                commandType = invalidCmd;
+                return ui.showError(reply.getMessage());
+            }
+            return reply.getValue();
         } catch (IOException e) {
             commandType = invalidCmd;
             return ui.showError("Failed to save data: " + e.getMessage());
         }
     }
+
+    /**
+     * Executes the dispatched commands in order, and passes the reply of every command to the output as soon
+     * as it is executed. It stops at the exit command.
+     * <p>
+     * The saves of the commands are deferred, so that all their changes are saved together once they are
+     * done, as a single write of the journal of each database. If <code>isAtomic</code>, it stops at the
+     * first command that fails, none of the changes are kept, and the tasks and notes are loaded again as
+     * they were before the commands. Otherwise, a command that fails is skipped, and the changes of the rest
+     * are kept. If the changes could not be saved, they are loaded again as they are on the disk.
+     *
+     * @return The number of commands executed, or -1 if the changes are not kept.
+     */
+    private int runAll(List<Result<Command>> commands, Consumer<String> output, boolean isAtomic) {
+        try {
+            taskStorage.flush();
+            notesStorage.flush();
+        } catch (IOException e) {
+            commandType = Command.CommandType.INVALID.name();
+            output.accept(ui.showError("Failed to save data: " + e.getMessage()));
+            return -1;
+        }
+
+        taskStorage.setDeferred(true);
+        notesStorage.setDeferred(true);
+        int count = 0;
+        int failed = 0;
+        try {
+            for (Result<Command> dispatched : commands) {
+                boolean isScript = dispatched.isValid() && dispatched.getValue() instanceof RunCommand;
+                output.accept(respond(isScript ? NESTED_SCRIPT : dispatched));
+                count++;
+                if (commandType.equals(Command.CommandType.INVALID.name())) {
+                    failed++;
+                }
+                if ((isAtomic && failed > 0) || commandType.equals(Command.CommandType.BYE.name())) {
+                    break;
+                }
+            }
+        } finally {
+            taskStorage.setDeferred(false);
+            notesStorage.setDeferred(false);
+        }
+
+        try {
+            if (!isAtomic || failed == 0) {
+                taskStorage.saveChanges(taskList);
+                notesStorage.saveChanges(notesList);
+                if (failed > 0) {
+                    commandType = Command.CommandType.INVALID.name();
+                    output.accept(ui.showSkipped(failed));
+                }
+                return count;
+            }
+        } catch (IOException e) {
+            commandType = Command.CommandType.INVALID.name();
+            output.accept(ui.showError("Failed to save data: " + e.getMessage()));
+        }
+
+        try {
+            taskList = taskStorage.loadTask();
+            notesList = notesStorage.loadNotes();
+            output.accept(ui.showRolledBack());
+        } catch (IOException e) {
+            output.accept(ui.showError("Failed to load data: " + e.getMessage()));
+        }
+        return -1;
+    }
+
+    /**
+     * Runs the commands of a script in order, and passes the reply of every command to the output as soon
+     * as it is executed. Every command is dispatched before the first is executed, and all their changes
+     * are saved together, or none of them are kept if any command fails.
+     *
+     * @param commands The commands of the script.
+     * @param output   The consumer of the replies.
+     * @return <code>true</code> if every command is run and the changes are saved, <code>false</code>
+     *         otherwise.
+     */
+    public boolean runScript(List<String> commands, Consumer<String> output) {
+        List<Result<Command>> dispatched = new ArrayList<>(commands.size());
+        for (String command : commands) {
+            long start = System.nanoTime();
+            dispatched.add(CommandDispatcher.dispatch(command));
+            Stats.DISPATCH.record(System.nanoTime() - start);
+        }
+
+        int count = runAll(dispatched, output, true);
+        if (count >= 0) {
+            output.accept(ui.showScriptDone(count));
+        }
+        return count >= 0;
+    }
+
+    /**
+     * Writes every pending change of the tasks and notes, and their search indexes, onto the disk. It is
+     * called before the chatbot exits.
+     *
+     * @throws IOException If the pending changes could not be written.
+     */
+    public void close() throws IOException {
+        taskStorage.flush();
+        notesStorage.flush();
+        taskStorage.saveIndex(taskList);
+        notesStorage.saveIndex(notesList);
+    }
 }
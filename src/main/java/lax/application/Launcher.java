@@ -1,13 +1,78 @@
 package lax.application;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
 import javafx.application.Application;
+import lax.Lax;
+import lax.command.RunCommand;
 
 /**
- * Workarounds classpath issues.
+ * Workarounds classpath issues. With the flag "--headless", the chatbot runs a script of commands without
+ * the GUI instead, from the file after the flag or from the standard input. With the flag "--columnar",
+ * the tasks are kept in columns. With the flag "--binary", the items are stored in binary files beside the
+ * text files.
  */
 public class Launcher {
+    /**
+     * The flag that runs a script without the GUI.
+     */
+    public static final String HEADLESS_FLAG = "--headless";
+
+    /**
+     * The flag that keeps the tasks in columns, which takes less memory for large lists.
+     */
+    public static final String COLUMNAR_FLAG = "--columnar";
+
+    /**
+     * The flag that stores the items in binary files, which are copied from the text files the first time.
+     */
+    public static final String BINARY_FLAG = "--binary";
+
     public static void main(String[] args) {
+        boolean isColumnar = Arrays.asList(args).contains(COLUMNAR_FLAG);
+        boolean isBinary = Arrays.asList(args).contains(BINARY_FLAG);
+        List<String> rest = Arrays.stream(args)
+                .filter(arg -> !arg.equals(COLUMNAR_FLAG) && !arg.equals(BINARY_FLAG))
+                .toList();
+        if (!rest.isEmpty() && rest.get(0).equals(HEADLESS_FLAG)) {
+            System.exit(runHeadless(rest.size() > 1 ? rest.get(1) : null, isColumnar, isBinary));
+        }
         Application.launch(Main.class, args);
     }
-}
 
+    /**
+     * Runs the script against the chatbot, and prints the reply of every command as soon as it is executed.
+     *
+     * @param path       The path of the script, or <code>null</code> if it is read from the standard input.
+     * @param isColumnar Whether the tasks are kept in columns.
+     * @param isBinary   Whether the items are stored in binary files.
+     * @return The exit status, which is 0 if every command is run and the changes are saved, or 1 otherwise.
+     */
+    private static int runHeadless(String path, boolean isColumnar, boolean isBinary) {
+        try {
+            List<String> commands = path == null ? readInput() : new RunCommand(path).readScript();
+            Lax lax = new Lax(Main.TASK_PATH, Main.NOTES_PATH, isColumnar, isBinary);
+            boolean isDone = lax.runScript(commands, System.out::println);
+            lax.close();
+            return isDone ? 0 : 1;
+        } catch (IOException e) {
+            System.out.println("Failed to run script: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Reads the commands from the standard input, skipping the lines that are blank.
+     */
+    private static List<String> readInput() throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .toList();
+    }
+}
@@ -1,6 +1,7 @@
 package lax.application;
 
 import java.io.IOException;
+import java.util.List;
 
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -18,12 +19,12 @@ public class Main extends Application {
     /**
      * The file path to store the tasks.
      */
-    private final String taskPath = "./data/task.txt";
+    static final String TASK_PATH = "./data/task.txt";
 
     /**
      * The file path to store the notes.
      */
-    private final String notesPath = "./data/notes.txt";
+    static final String NOTES_PATH = "./data/notes.txt";
 
     /**
      * An instance of the chatbot.
@@ -36,7 +37,9 @@ public class Main extends Application {
     @Override
     public void start(Stage stage) {
         try {
-            lax = new Lax(taskPath, notesPath);
+            List<String> args = getParameters().getRaw();
+            lax = new Lax(TASK_PATH, NOTES_PATH, args.contains(Launcher.COLUMNAR_FLAG),
+                    args.contains(Launcher.BINARY_FLAG));
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
@@ -50,6 +53,22 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Writes every pending change onto the disk when the window is closed.
+     */
+    @Override
+    public void stop() {
+        if (lax == null) {
+            return;
+        }
+
+        try {
+            lax.close();
+        } catch (IOException e) {
+            System.out.println("Failed to save data: " + e.getMessage());
+        }
+    }
+
     /**
      * Displays an alert with the title "Error" and message.
      *
@@ -1,5 +1,6 @@
 package lax.application;
 
+import java.io.IOException;
 import java.util.Objects;
 
 import javafx.animation.PauseTransition;
@@ -92,6 +93,11 @@ public class MainWindow extends AnchorPane {
     private void exit() {
         PauseTransition delay = new PauseTransition(Duration.seconds(3));
         delay.setOnFinished(e -> {
+            try {
+                lax.close();
+            } catch (IOException ex) {
+                System.out.println("Failed to save data: " + ex.getMessage());
+            }
             Platform.exit();
             System.exit(0);
         });
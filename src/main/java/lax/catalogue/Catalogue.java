@@ -1,14 +1,17 @@
 package lax.catalogue;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Locale;
+import java.util.BitSet;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import lax.exception.InvalidCommandException;
+import lax.exception.Result;
+import lax.item.DateParser;
+import lax.item.DisplayFormat;
 import lax.item.Item;
 
 /**
@@ -16,25 +19,62 @@ import lax.item.Item;
  */
 public interface Catalogue {
     /**
-     * The format of the dateTime that user inputs.
+     * The greatest number of items shown by a ranked search.
      */
-    DateTimeFormatter INPUT_DATETIME_FORMAT =
-            DateTimeFormatter.ofPattern("dd-MM-yyyy HHmm", Locale.ENGLISH);
+    int MAX_SEARCH_RESULTS = 10;
 
     /**
-     * The format of the dateTime that the chatbot outputs.
+     * The greatest number of items shown on a page of the list.
      */
-    DateTimeFormatter OUTPUT_DATETIME_FORMAT =
-            DateTimeFormatter.ofPattern("MMM dd yyyy hh:mma", Locale.ENGLISH);
+    int PAGE_SIZE = 20;
 
     /**
-     * Parses the dateTime of the pattern of "dd-MM-yyyy HHmm" into a <code>LocalDateTime</code> object.
+     * The greatest number of results of find, filter and query kept in the cache of a catalogue.
+     */
+    int MAX_CACHED_RESULTS = 64;
+
+    /**
+     * The value returned by <code>parseNumber</code> if the text is not an integer.
+     */
+    long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    /**
+     * Parses the dateTime of the pattern of "dd-MM-yyyy HHmm" into a <code>LocalDateTime</code> object,
+     * through the <code>DateParser</code>, which does not throw. An invalid dateTime is reported as the error
+     * of the result, with the position where it stops fitting the format.
      *
      * @return <li>The format is "yyyy-MM-ddTHH:mm".</li><li>Eg. "2025-08-26T13:24".</li>
-     * @throws DateTimeParseException If the dateTime cannot be parsed.
+     *         <li>Or the reason that the dateTime cannot be parsed or does not exist.</li>
+     */
+    default Result<LocalDateTime> parseDateTime(String dateTime) {
+        LocalDateTime parsed = DateParser.parseDateTime(dateTime);
+        if (parsed == null) {
+            int index = DateParser.errorIndex(dateTime);
+            return Result.error("Wrong DateTime format, '" + dateTime + "' could not be parsed"
+                    + (index < 0 ? ": Invalid value" : " at index " + index) + ".\neg. 23-08-2025 1800");
+        }
+        return Result.of(parsed);
+    }
+
+    /**
+     * Parses the date of the pattern of "dd-MM-yyyy" into a <code>LocalDate</code> object.
+     *
+     * @return <li>The format is "yyyy-MM-dd".</li><li>Eg. "2025-08-26".</li>
+     * @throws InvalidCommandException If the date cannot be parsed.
+     */
+    default LocalDate parseDate(String date) throws InvalidCommandException {
+        LocalDate parsed = DateParser.parseDate(date);
+        if (parsed == null) {
+            throw new InvalidCommandException("Wrong Date format.\neg. 01-09-2025");
+        }
+        return parsed;
+    }
+
+    /**
+     * Formats the dateTime into a string of the format "MMM dd yyyy hh:mma".
      */
-    default LocalDateTime parseDateTime(String dateTime) throws DateTimeParseException {
-        return LocalDateTime.parse(dateTime, INPUT_DATETIME_FORMAT);
+    default String formatDateTime(LocalDateTime dateTime) {
+        return DisplayFormat.formatDateTime(dateTime);
     }
 
     /**
@@ -46,49 +86,188 @@ public interface Catalogue {
     default String getDateString(LocalDateTime dateTime) {
         return dateTime == null
                 ? ""
-                : " on " + dateTime.format(OUTPUT_DATETIME_FORMAT)
-                .replace("AM", "am")
-                .replace("PM", "pm");
+                : " on " + formatDateTime(dateTime);
+    }
+
+    /**
+     * Parses the range of dateTimes into a string of the format " from dateTime to dateTime".
+     */
+    default String getRangeString(LocalDateTime from, LocalDateTime to) {
+        return " from " + formatDateTime(from) + " to " + formatDateTime(to);
     }
 
     /**
      * Parses the catalogue into a string, with the timestamp if dateTime is not null.
      */
-    default String createStringList(String dateString, ArrayList<? extends Item> catalogue) {
+    default String createStringList(String dateString, List<? extends Item> catalogue) {
+        return createStringList(dateString, catalogue, 1);
+    }
+
+    /**
+     * Parses the catalogue into a string, numbering the items from the first number.
+     */
+    default String createStringList(String dateString, List<? extends Item> catalogue, int first) {
         if (catalogue == null || catalogue.isEmpty()) {
             return "There is no item in your list" + dateString + ".";
         }
 
-        String itemString = IntStream.range(1, catalogue.size() + 1)
-                .mapToObj(i -> i + ". " + catalogue.get(i - 1).toString())
+        String itemString = IntStream.range(0, catalogue.size())
+                .mapToObj(i -> (first + i) + ". " + catalogue.get(i).toString())
                 .collect(Collectors.joining("\n"));
         return "Here are the items in your list" + dateString + ":\n" + itemString;
     }
 
+    /**
+     * Converts a single page of the <code>Catalogue</code> into a <code>String</code> for displaying. Only
+     * the items on the page are formatted, and they keep their numbers in the full list.
+     *
+     * @param page The page number, starting from 1.
+     * @return A <code>String</code> representation of the items on the page.
+     * @throws InvalidCommandException If there is no such page.
+     */
+    default String showPage(int page) throws InvalidCommandException {
+        int pages = Math.max(1, (size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        if (page < 1 || page > pages) {
+            String count = pages == 1 ? "is 1 page" : "are " + pages + " pages";
+            throw new InvalidCommandException("Invalid page number.\nThere " + count + ".");
+        }
+
+        int from = (page - 1) * PAGE_SIZE;
+        List<? extends Item> items = getItems().subList(from, Math.min(size(), from + PAGE_SIZE));
+        return createStringList(pages == 1 ? "" : " (page " + page + " of " + pages + ")", items, from + 1);
+    }
+
     /**
      * Converts the <code>Catalogue</code> into a <code>String</code> for displaying.
      *
      * @param dateTime The dateTime used when filtering item.
      * @return A <code>String</code> representation of the catalogue with each item being listed out.
      */
-    default String showList(LocalDateTime dateTime, ArrayList<? extends Item> catalogue) {
+    default String showList(LocalDateTime dateTime, List<? extends Item> catalogue) {
         String dateString = getDateString(dateTime);
         return createStringList(dateString, catalogue);
     }
 
+    /**
+     * Ranks the items by how well they match the query and converts the best of them into a
+     * <code>String</code> for displaying. Only the items that are shown are formatted.
+     *
+     * @param query The query of one or more keywords.
+     * @return A <code>String</code> representation of the best items, from the best match.
+     */
+    default String searchItems(String query) {
+        ArrayList<Item> ranked = new ArrayList<>(getSearchIndex().search(query, MAX_SEARCH_RESULTS));
+        return createStringList(" matching \"" + query + "\"", ranked);
+    }
+
+    /**
+     * Parses the text into an integer like <code>Integer.parseInt</code>, but returns
+     * <code>NOT_A_NUMBER</code> instead of throwing if the text is not an integer.
+     *
+     * @param text The text of an integer, with an optional sign.
+     * @return The integer, or <code>NOT_A_NUMBER</code>.
+     */
+    static long parseNumber(String text) {
+        int i = text.startsWith("-") || text.startsWith("+") ? 1 : 0;
+        if (i == text.length()) {
+            return NOT_A_NUMBER;
+        }
+
+        long number = 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_A_NUMBER;
+            }
+            number = number * 10 + (c - '0');
+            if (number > (long) Integer.MAX_VALUE + 1) {
+                return NOT_A_NUMBER;
+            }
+        }
+        number = text.startsWith("-") ? -number : number;
+        return number > Integer.MAX_VALUE ? NOT_A_NUMBER : number;
+    }
+
+    /**
+     * Parses the item number into the position of the item.
+     *
+     * @param number     The item number, starting from 1.
+     * @param notNumber  The error thrown if the item number is not a number.
+     * @param outOfRange The error thrown if the item number is not within the catalogue.
+     * @return The position of the item, starting from 0.
+     * @throws InvalidCommandException If the item number is not a number or not within the catalogue.
+     */
+    default int parseIndex(String number, InvalidCommandException notNumber, InvalidCommandException outOfRange)
+            throws InvalidCommandException {
+        long n = parseNumber(number);
+        if (n == NOT_A_NUMBER) {
+            throw notNumber;
+        }
+        if (n < 1 || n > size()) {
+            throw outOfRange;
+        }
+        return (int) n - 1;
+    }
+
+    /**
+     * Parses the selection of item numbers, which is a list of numbers and ranges of numbers separated by
+     * commas, such as "3,7,9-20".
+     *
+     * @param selection    The selection of item numbers, starting from 1.
+     * @param notSelection The error thrown if a number or range is of wrong format.
+     * @param outOfRange   The error thrown if a number is not within the catalogue.
+     * @return The distinct positions of the items selected, starting from 0, in increasing order.
+     * @throws InvalidCommandException If a number or range is of wrong format or not within the catalogue.
+     */
+    default int[] parseSelection(String selection, InvalidCommandException notSelection,
+            InvalidCommandException outOfRange) throws InvalidCommandException {
+        BitSet selected = new BitSet();
+        for (String part : selection.split(",")) {
+            String[] range = part.split("-", -1);
+            if (range.length > 2) {
+                throw notSelection;
+            }
+
+            long from = parseNumber(range[0].trim());
+            long to = range.length == 1 ? from : parseNumber(range[1].trim());
+            if (from == NOT_A_NUMBER || to == NOT_A_NUMBER || to < from) {
+                throw notSelection;
+            }
+            if (from < 1 || to > size()) {
+                throw outOfRange;
+            }
+            selected.set((int) from - 1, (int) to);
+        }
+        return selected.stream().toArray();
+    }
+
     String showList();
 
     int size();
 
+    List<? extends Item> getItems();
+
+    SearchIndex<? extends Item> getSearchIndex();
+
+    List<Change> getChanges();
+
+    void clearChanges();
+
     Item labelItem(String s, boolean b) throws InvalidCommandException;
 
     Item addItem(String s, String t) throws InvalidCommandException;
 
     Item deleteItem(String s) throws InvalidCommandException;
 
+    List<? extends Item> labelItems(String s, boolean b) throws InvalidCommandException;
+
+    List<? extends Item> deleteItems(String s) throws InvalidCommandException;
+
     String findItems(String s);
 
     String filterItems(String s) throws InvalidCommandException;
 
+    String queryItems(String s) throws InvalidCommandException;
+
     ArrayList<String> serialize();
 }
@@ -0,0 +1,42 @@
+package lax.catalogue;
+
+import lax.item.Item;
+
+/**
+ * Represents a single change made to a <code>Catalogue</code> that has not been saved into the database yet.
+ */
+public class Change {
+    /**
+     * Types of changes that can be made to a <code>Catalogue</code>.
+     */
+    public enum Type { ADD, DELETE, MARK, UNMARK }
+
+    /**
+     * The type of change.
+     */
+    private final Type type;
+
+    /**
+     * The item that is changed.
+     */
+    private final Item item;
+
+    /**
+     * Constructs the change of the item, which is referred to by its id when it is saved.
+     *
+     * @param t The type of change.
+     * @param it The item that is changed.
+     */
+    public Change(Type t, Item it) {
+        type = t;
+        item = it;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+}
@@ -0,0 +1,117 @@
+package lax.catalogue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Represents the sorted index of the items in a <code>Catalogue</code> by their date, so that the items of
+ * a date or a range of dates are found without scanning every item.
+ * <p>
+ * The items of every date are kept in a bucket in the order of the arraylist, and an item without a date is
+ * not indexed.
+ *
+ * @param <T> The type of item.
+ */
+public class DateIndex<T> extends ItemIndex<T> {
+    /**
+     * The items of every date, in the order of the arraylist.
+     */
+    private final TreeMap<LocalDate, List<T>> buckets = new TreeMap<>();
+
+    /**
+     * The function that converts an item to its date.
+     */
+    private final Function<T, LocalDate> dateOf;
+
+    /**
+     * Constructs the index of the items.
+     *
+     * @param i The items to be indexed.
+     * @param d The function that converts an item to its date.
+     */
+    public DateIndex(List<T> i, Function<T, LocalDate> d) {
+        super(i);
+        dateOf = d;
+    }
+
+    /**
+     * Adds the item to the end of the bucket of its date.
+     */
+    @Override
+    protected void insert(T item) {
+        LocalDate date = dateOf.apply(item);
+        if (date != null) {
+            buckets.computeIfAbsent(date, k -> new ArrayList<>()).add(item);
+        }
+    }
+
+    /**
+     * Removes the item from the bucket of its date.
+     */
+    @Override
+    protected void delete(T item) {
+        LocalDate date = dateOf.apply(item);
+        List<T> bucket = date == null ? null : buckets.get(date);
+        if (bucket == null) {
+            return;
+        }
+
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == item) {
+                bucket.remove(i);
+                break;
+            }
+        }
+        if (bucket.isEmpty()) {
+            buckets.remove(date);
+        }
+    }
+
+    /**
+     * Finds every item of the date, in the order of the arraylist.
+     *
+     * @param date The date of the items.
+     * @return The items of the date.
+     */
+    public List<T> find(LocalDate date) {
+        build();
+        return new ArrayList<>(buckets.getOrDefault(date, List.of()));
+    }
+
+    /**
+     * Finds every item from the start to the end date, both inclusive, in order of their dates. Items of
+     * the same date are in the order of the arraylist.
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range.
+     * @return The items within the range.
+     */
+    public List<T> findBetween(LocalDate from, LocalDate to) {
+        build();
+        List<T> found = new ArrayList<>();
+        if (to.isBefore(from)) {
+            return found;
+        }
+
+        buckets.subMap(from, true, to, true).values().forEach(found::addAll);
+        return found;
+    }
+
+    /**
+     * Counts the items from the start to the end date, both inclusive, without collecting them.
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range.
+     * @return The number of items within the range.
+     */
+    public int countBetween(LocalDate from, LocalDate to) {
+        build();
+        if (to.isBefore(from)) {
+            return 0;
+        }
+        return buckets.subMap(from, true, to, true).values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -0,0 +1,58 @@
+package lax.catalogue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Represents the hash index of the items in a <code>Catalogue</code> by their identity, so that duplicates
+ * are found without scanning every item.
+ * <p>
+ * Every key is counted, since a database file may already hold duplicates.
+ *
+ * @param <T> The type of item.
+ * @param <K> The identity of an item.
+ */
+public class DuplicateIndex<T, K> extends ItemIndex<T> {
+    /**
+     * The number of items of every identity.
+     */
+    private final HashMap<K, Integer> counts = new HashMap<>();
+
+    /**
+     * The function that converts an item to its identity.
+     */
+    private final Function<T, K> key;
+
+    /**
+     * Constructs the index of the items.
+     *
+     * @param i The items to be indexed.
+     * @param k The function that converts an item to its identity.
+     */
+    public DuplicateIndex(List<T> i, Function<T, K> k) {
+        super(i);
+        key = k;
+    }
+
+    @Override
+    protected void insert(T item) {
+        counts.merge(key.apply(item), 1, Integer::sum);
+    }
+
+    @Override
+    protected void delete(T item) {
+        counts.computeIfPresent(key.apply(item), (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Checks if there is any item of the identity.
+     *
+     * @param k The identity of an item.
+     * @return <code>true</code> if there is such an item, <code>false</code> otherwise.
+     */
+    public boolean contains(K k) {
+        build();
+        return counts.containsKey(k);
+    }
+}
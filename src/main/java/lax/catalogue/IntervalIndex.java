@@ -0,0 +1,318 @@
+package lax.catalogue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Represents the interval tree of the items in a <code>Catalogue</code> that happen over a period of time,
+ * so that the items happening at a dateTime or within a range are found without scanning every item.
+ * <p>
+ * The tree is a treap ordered by the start of the periods and augmented with the latest end in every
+ * subtree. Periods are open, so an item happens strictly after its start and strictly before its end. An
+ * item without a start happens at any time before its end, and an item without an end is not indexed.
+ *
+ * @param <T> The type of item.
+ */
+public class IntervalIndex<T> extends ItemIndex<T> {
+    /**
+     * Represents a node of the treap, which holds the period of a single item.
+     */
+    private static class Node<T> {
+        /**
+         * The item that happens over the period.
+         */
+        private final T item;
+
+        /**
+         * The start of the period in epoch-seconds, or <code>Long.MIN_VALUE</code> if it has no start.
+         */
+        private final long start;
+
+        /**
+         * The end of the period in epoch-seconds.
+         */
+        private final long end;
+
+        /**
+         * The order of the item in the arraylist, which breaks ties between periods of the same start.
+         */
+        private final long sequence;
+
+        /**
+         * The random priority of the node, which keeps the treap balanced.
+         */
+        private final int priority;
+
+        /**
+         * The latest end of any period in the subtree of this node.
+         */
+        private long maxEnd;
+
+        /**
+         * The subtree of the periods that start earlier.
+         */
+        private Node<T> left;
+
+        /**
+         * The subtree of the periods that start later.
+         */
+        private Node<T> right;
+
+        /**
+         * Constructs the node of the item.
+         */
+        private Node(T it, long s, long e, long q, int p) {
+            item = it;
+            start = s;
+            end = e;
+            sequence = q;
+            priority = p;
+            maxEnd = e;
+        }
+
+        /**
+         * Checks if this node comes before the period of the start and sequence.
+         */
+        private boolean isBefore(long s, long q) {
+            return start < s || (start == s && sequence < q);
+        }
+
+        /**
+         * Recomputes the latest end of the subtree after its children changed.
+         */
+        private Node<T> update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Represents the two treaps that a treap is split into.
+     */
+    private static class Halves<T> {
+        /**
+         * The treap of the periods before the split.
+         */
+        private Node<T> first;
+
+        /**
+         * The treap of the periods from the split onwards.
+         */
+        private Node<T> second;
+
+        /**
+         * Constructs the halves of a split.
+         */
+        private Halves(Node<T> f, Node<T> s) {
+            first = f;
+            second = s;
+        }
+    }
+
+    /**
+     * The random numbers used as the priorities of the nodes.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The node of every indexed item, by identity since items may be equal to one another.
+     */
+    private final IdentityHashMap<T, Node<T>> nodes = new IdentityHashMap<>();
+
+    /**
+     * The function that converts an item to the start of its period, or <code>null</code> if it has none.
+     */
+    private final Function<T, LocalDateTime> startOf;
+
+    /**
+     * The function that converts an item to the end of its period, or <code>null</code> if it has none.
+     */
+    private final Function<T, LocalDateTime> endOf;
+
+    /**
+     * The root of the treap.
+     */
+    private Node<T> root;
+
+    /**
+     * The order given to the next item that is added.
+     */
+    private long nextSequence = 0;
+
+    /**
+     * Constructs the index of the items.
+     *
+     * @param i The items to be indexed.
+     * @param s The function that converts an item to the start of its period.
+     * @param e The function that converts an item to the end of its period.
+     */
+    public IntervalIndex(List<T> i, Function<T, LocalDateTime> s, Function<T, LocalDateTime> e) {
+        super(i);
+        startOf = s;
+        endOf = e;
+    }
+
+    /**
+     * Converts the dateTime into epoch-seconds.
+     */
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Joins the two treaps, where every period of the left comes before every period of the right.
+     */
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    /**
+     * Inserts the node into the treap.
+     */
+    private Node<T> insert(Node<T> node, Node<T> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        if (newNode.priority > node.priority) {
+            Halves<T> halves = split(node, newNode.start, newNode.sequence);
+            newNode.left = halves.first;
+            newNode.right = halves.second;
+            return newNode.update();
+        }
+
+        if (node.isBefore(newNode.start, newNode.sequence)) {
+            node.right = insert(node.right, newNode);
+        } else {
+            node.left = insert(node.left, newNode);
+        }
+        return node.update();
+    }
+
+    /**
+     * Splits the treap into the periods before the start and sequence, and the rest.
+     */
+    private Halves<T> split(Node<T> node, long start, long sequence) {
+        if (node == null) {
+            return new Halves<>(null, null);
+        }
+
+        if (node.isBefore(start, sequence)) {
+            Halves<T> halves = split(node.right, start, sequence);
+            node.right = halves.first;
+            halves.first = node.update();
+            return halves;
+        }
+        Halves<T> halves = split(node.left, start, sequence);
+        node.left = halves.second;
+        halves.second = node.update();
+        return halves;
+    }
+
+    /**
+     * Removes the node from the treap.
+     */
+    private Node<T> remove(Node<T> node, Node<T> oldNode) {
+        if (node == null) {
+            return null;
+        }
+
+        if (node == oldNode) {
+            return merge(node.left, node.right);
+        }
+        if (node.isBefore(oldNode.start, oldNode.sequence)) {
+            node.right = remove(node.right, oldNode);
+        } else {
+            node.left = remove(node.left, oldNode);
+        }
+        return node.update();
+    }
+
+    /**
+     * Inserts the item into the treap if it happens over a period.
+     */
+    @Override
+    protected void insert(T item) {
+        LocalDateTime end = endOf.apply(item);
+        if (end == null) {
+            return;
+        }
+
+        LocalDateTime start = startOf.apply(item);
+        Node<T> node = new Node<>(item, start == null ? Long.MIN_VALUE : toSeconds(start), toSeconds(end),
+                nextSequence++, random.nextInt());
+        nodes.put(item, node);
+        root = insert(root, node);
+    }
+
+    /**
+     * Removes the item from the treap if it is indexed.
+     */
+    @Override
+    protected void delete(T item) {
+        Node<T> node = nodes.remove(item);
+        if (node != null) {
+            root = remove(root, node);
+        }
+    }
+
+    /**
+     * Collects every item of the subtree whose period overlaps the range.
+     */
+    private void collect(Node<T> node, long from, long to, List<Node<T>> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+
+        collect(node.left, from, to, result);
+        if (node.start < to && node.end > from) {
+            result.add(node);
+        }
+        if (node.start < to) {
+            collect(node.right, from, to, result);
+        }
+    }
+
+    /**
+     * Finds every item that happens at any time within the range, in the order of the arraylist. A single
+     * dateTime is the range that starts and ends at it.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range.
+     * @return The items whose periods overlap the range.
+     */
+    public List<T> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        build();
+        List<Node<T>> result = new ArrayList<>();
+        collect(root, toSeconds(from), toSeconds(to), result);
+        result.sort(Comparator.comparingLong(node -> node.sequence));
+
+        List<T> found = new ArrayList<>(result.size());
+        result.forEach(node -> found.add(node.item));
+        return found;
+    }
+}
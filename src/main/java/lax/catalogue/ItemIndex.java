@@ -0,0 +1,85 @@
+package lax.catalogue;
+
+import java.util.List;
+
+/**
+ * Represents an index of the items of a <code>Catalogue</code>. The index is built from the items when it is
+ * first used, and is then kept up to date by the <code>Catalogue</code>, which owns the items and tells the
+ * index of every item that it adds or removes. The items must not be changed in any other way.
+ *
+ * @param <T> The type of item.
+ */
+abstract class ItemIndex<T> {
+    /**
+     * The items that are indexed.
+     */
+    protected final List<T> items;
+
+    /**
+     * Whether the index has been built from the items.
+     */
+    private boolean isBuilt = false;
+
+    /**
+     * Constructs the index of the items, which is built when it is first used.
+     *
+     * @param i The items to be indexed.
+     */
+    protected ItemIndex(List<T> i) {
+        items = i;
+    }
+
+    /**
+     * Indexes a single item.
+     */
+    protected abstract void insert(T item);
+
+    /**
+     * Removes a single item from the index.
+     */
+    protected abstract void delete(T item);
+
+    /**
+     * Builds the index from the items, unless it has already been built.
+     */
+    protected void build() {
+        if (!isBuilt) {
+            items.forEach(this::insert);
+            isBuilt = true;
+        }
+    }
+
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Marks the index as built without indexing the items, once it has been read from its file.
+     */
+    protected void setBuilt() {
+        isBuilt = true;
+    }
+
+    /**
+     * Indexes the item that has just been added to the end of the items. Nothing is done before the index is
+     * built, since the item is then indexed with the rest.
+     *
+     * @param item The item that is added.
+     */
+    public void add(T item) {
+        if (isBuilt) {
+            insert(item);
+        }
+    }
+
+    /**
+     * Removes the item that has just been removed from the items from the index.
+     *
+     * @param item The item that is removed.
+     */
+    public void remove(T item) {
+        if (isBuilt) {
+            delete(item);
+        }
+    }
+}
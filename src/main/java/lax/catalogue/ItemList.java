@@ -0,0 +1,25 @@
+package lax.catalogue;
+
+import java.util.List;
+
+import lax.item.Item;
+
+/**
+ * Represents the list of items in a <code>Catalogue</code>, which gives every item an id that is unique
+ * within the list and finds the item by it.
+ * <p>
+ * An item that is added without an id, or with the id of another item in the list, is given the next id of
+ * the list, which is one more than the largest id it has held. An item keeps its id when it is added with
+ * one, such as when it is loaded from the database file.
+ *
+ * @param <T> The type of item.
+ */
+public interface ItemList<T extends Item> extends List<T> {
+    /**
+     * Finds the position of the item with the id.
+     *
+     * @param id The id of the item.
+     * @return The position of the item, or -1 if no item in the list has the id.
+     */
+    int indexOfId(int id);
+}
@@ -0,0 +1,381 @@
+package lax.catalogue;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import lax.item.Item;
+
+/**
+ * Represents the list of items in a <code>Catalogue</code>, which finds, adds and removes the item at any
+ * position without shifting the items after it.
+ * <p>
+ * The list is a treap ordered by the position of the items and augmented with the size of every subtree, so
+ * the position of an item is counted instead of stored. The node of every item is also kept by the id of the
+ * item, so an item is found by its id without walking the list.
+ *
+ * @param <T> The type of item.
+ */
+public class ItemTree<T extends Item> extends AbstractList<T> implements ItemList<T> {
+    /**
+     * Represents a node of the treap, which holds a single item.
+     */
+    private static class Node<T> {
+        /**
+         * The random priority of the node, which keeps the treap balanced.
+         */
+        private final int priority;
+
+        /**
+         * The item at the position of this node.
+         */
+        private T item;
+
+        /**
+         * The number of items in the subtree of this node.
+         */
+        private int size = 1;
+
+        /**
+         * The subtree of the items before this node.
+         */
+        private Node<T> left;
+
+        /**
+         * The subtree of the items after this node.
+         */
+        private Node<T> right;
+
+        /**
+         * The node whose subtree this node is a child of, or <code>null</code> if it is the root.
+         */
+        private Node<T> parent;
+
+        /**
+         * Constructs the node of the item.
+         */
+        private Node(T it, int p) {
+            item = it;
+            priority = p;
+        }
+
+        /**
+         * Recomputes the size of the subtree and the parent of the children after its children changed.
+         */
+        private Node<T> update() {
+            size = 1;
+            if (left != null) {
+                size += left.size;
+                left.parent = this;
+            }
+            if (right != null) {
+                size += right.size;
+                right.parent = this;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Represents the two treaps that a treap is split into.
+     */
+    private static class Halves<T> {
+        /**
+         * The treap of the items before the split.
+         */
+        private Node<T> first;
+
+        /**
+         * The treap of the items from the split onwards.
+         */
+        private Node<T> second;
+
+        /**
+         * Constructs the halves of a split.
+         */
+        private Halves(Node<T> f, Node<T> s) {
+            first = f;
+            second = s;
+        }
+    }
+
+    /**
+     * The random numbers used as the priorities of the nodes.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The root of the treap.
+     */
+    private Node<T> root;
+
+    /**
+     * The node of every item in the list by the id of the item.
+     */
+    private final HashMap<Integer, Node<T>> nodes = new HashMap<>();
+
+    /**
+     * The id given to the next item that is added without one.
+     */
+    private int nextId = 1;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ItemTree() {
+    }
+
+    /**
+     * Constructs the list of the items, in the order of the collection.
+     *
+     * @param c The items of the list.
+     */
+    public ItemTree(Collection<? extends T> c) {
+        addAll(c);
+    }
+
+    /**
+     * Returns the number of items in the subtree of the node.
+     */
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Joins the two treaps, where every item of the left comes before every item of the right.
+     */
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    /**
+     * Splits the treap into its first count items and the rest.
+     */
+    private Halves<T> split(Node<T> node, int count) {
+        if (node == null) {
+            return new Halves<>(null, null);
+        }
+
+        if (sizeOf(node.left) < count) {
+            Halves<T> halves = split(node.right, count - sizeOf(node.left) - 1);
+            node.right = halves.first;
+            halves.first = node.update();
+            return halves;
+        }
+        Halves<T> halves = split(node.left, count);
+        node.left = halves.second;
+        halves.second = node.update();
+        return halves;
+    }
+
+    /**
+     * Sets the root of the treap.
+     */
+    private void setRoot(Node<T> node) {
+        root = node;
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    /**
+     * Finds the node at the position.
+     *
+     * @throws IndexOutOfBoundsException If the position is not within the list.
+     */
+    private Node<T> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+
+        Node<T> node = root;
+        int i = index;
+        while (sizeOf(node.left) != i) {
+            if (i < sizeOf(node.left)) {
+                node = node.left;
+            } else {
+                i -= sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Counts the position of the node by walking up to the root.
+     */
+    private int positionOf(Node<T> node) {
+        int index = sizeOf(node.left);
+        for (Node<T> n = node; n.parent != null; n = n.parent) {
+            if (n == n.parent.right) {
+                index += sizeOf(n.parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Finds the node of the item after the node, or <code>null</code> if it is the last.
+     */
+    private static <T> Node<T> next(Node<T> node) {
+        if (node.right != null) {
+            Node<T> n = node.right;
+            while (n.left != null) {
+                n = n.left;
+            }
+            return n;
+        }
+
+        Node<T> n = node;
+        while (n.parent != null && n == n.parent.right) {
+            n = n.parent;
+        }
+        return n.parent;
+    }
+
+    /**
+     * Gives the item the next id, unless it already has an id that no other item in the list has.
+     */
+    private void giveId(T item) {
+        if (item.getId() <= 0 || nodes.containsKey(item.getId())) {
+            item.setId(nextId);
+        }
+        nextId = Math.max(nextId, item.getId() + 1);
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public T get(int index) {
+        return nodeAt(index).item;
+    }
+
+    @Override
+    public int indexOfId(int id) {
+        Node<T> node = nodes.get(id);
+        return node == null ? -1 : positionOf(node);
+    }
+
+    /**
+     * Replaces the item at the position, which is given the id of the item that it replaces.
+     *
+     * @return The item that is replaced.
+     */
+    @Override
+    public T set(int index, T item) {
+        Node<T> node = nodeAt(index);
+        T old = node.item;
+        if (item.getId() != old.getId()) {
+            item.setId(old.getId());
+        }
+        node.item = item;
+        return old;
+    }
+
+    /**
+     * Inserts the item at the position, which is given an id if it has none or another item has its id.
+     */
+    @Override
+    public void add(int index, T item) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+
+        giveId(item);
+        Node<T> node = new Node<>(item, random.nextInt());
+        nodes.put(item.getId(), node);
+        Halves<T> halves = split(root, index);
+        setRoot(merge(merge(halves.first, node), halves.second));
+        modCount++;
+    }
+
+    /**
+     * Removes the item at the position.
+     *
+     * @return The item that is removed.
+     */
+    @Override
+    public T remove(int index) {
+        Node<T> node = nodeAt(index);
+        Halves<T> halves = split(root, index);
+        setRoot(merge(halves.first, split(halves.second, 1).second));
+        nodes.remove(node.item.getId());
+        node.parent = null;
+        modCount++;
+        return node.item;
+    }
+
+    /**
+     * Removes every item. The ids of the items are not given again.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        nodes.clear();
+        modCount++;
+    }
+
+    /**
+     * Walks the items in order without finding each of them from the root.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> nextNode = root == null ? null : nodeAt(0);
+            private Node<T> lastNode;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextNode != null;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (nextNode == null) {
+                    throw new NoSuchElementException();
+                }
+
+                lastNode = nextNode;
+                nextNode = ItemTree.next(nextNode);
+                return lastNode.item;
+            }
+
+            @Override
+            public void remove() {
+                if (lastNode == null) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                ItemTree.this.remove(positionOf(lastNode));
+                lastNode = null;
+                expectedModCount = modCount;
+            }
+        };
+    }
+}
@@ -2,13 +2,15 @@ package lax.catalogue;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
 import lax.exception.InvalidCommandException;
+import lax.item.DisplayFormat;
 import lax.item.notes.Note;
 
 /**
@@ -16,52 +18,107 @@ import lax.item.notes.Note;
  */
 public class NoteList implements Catalogue {
     /**
-     * The format of the date that user inputs.
+     * The only type of note.
      */
-    private static final DateTimeFormatter INPUT_DATE_FORMAT =
-            DateTimeFormatter.ofPattern("dd-MM-yyyy", Locale.ENGLISH);
+    private static final String NOTE_TYPE = "NOTE";
 
     /**
-     * The format of the date that the chatbot outputs.
+     * The error of a note number that is not within the notesList, which is created once.
      */
-    private static final DateTimeFormatter OUTPUT_DATE_FORMAT =
-            DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
+    private static final InvalidCommandException INVALID_NUMBER = new InvalidCommandException("Invalid note number.");
 
     /**
-     * The only type of note.
+     * The error of a delete command whose note number is not a number.
      */
-    private static final String NOTE_TYPE = "NOTE";
+    private static final InvalidCommandException DELETE_FORMAT = new InvalidCommandException("eg. note delete 1");
+
+    /**
+     * The error of a delete command whose selection is of wrong format.
+     */
+    private static final InvalidCommandException DELETE_SELECTION_FORMAT =
+            new InvalidCommandException("eg. note delete 3,7,9-20");
+
+    /**
+     * The list of notes, which finds and removes the notes at any position without shifting the rest.
+     */
+    private final ItemTree<Note> notesList;
+
+    /**
+     * The changes made to the notesList since it was last saved.
+     */
+    private final ArrayList<Change> changes = new ArrayList<>();
+
+    /**
+     * The cached results of find, filter and query, which are removed when a note that they show changes.
+     */
+    private final ResultCache<Note> results = new ResultCache<>(MAX_CACHED_RESULTS);
+
+    /**
+     * The index of the notes in the notesList by their description, ignoring case.
+     */
+    private final DuplicateIndex<Note, String> duplicates;
+
+    /**
+     * The index of the notes in the notesList by the text that they are found by.
+     */
+    private final SearchIndex<Note> search;
 
     /**
-     * The arraylist to store the list of notes.
+     * The index of the notes in the notesList by the date that they were created on.
      */
-    private final ArrayList<Note> notesList;
+    private final DateIndex<Note> dates;
 
     /**
-     * Constructs the list of notes with an arraylist.
+     * Constructs the list of notes with the notes of an arraylist, which is copied.
      *
      * @param n The arraylist of notes.
      */
     public NoteList(ArrayList<Note> n) {
+        this(new ItemTree<>(n));
+    }
+
+    /**
+     * Constructs the list of notes that holds the notes of the tree, such as those loaded from the database
+     * file, without copying them.
+     *
+     * @param n The tree of notes.
+     */
+    public NoteList(ItemTree<Note> n) {
         notesList = n;
+        duplicates = new DuplicateIndex<>(notesList, note -> toKey(note.getDescription()));
+        search = new SearchIndex<>(notesList, Note::getDescription);
+        dates = new DateIndex<>(notesList, Note::getDate);
     }
 
     public int size() {
         return notesList.size();
     }
 
+    public List<Note> getItems() {
+        return Collections.unmodifiableList(notesList);
+    }
+
+    public SearchIndex<Note> getSearchIndex() {
+        return search;
+    }
+
+    public List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
     /**
-     * Parses the date of the pattern of "dd-MM-yyyy" into a <code>LocalDate</code> object.
-     *
-     * @return <li>The format is "yyyy-MM-ddT00:00".</li><li>Eg. "2025-08-26T00:00".</li>
-     * @throws InvalidCommandException If the date cannot be parsed.
-     */
-    public LocalDate parseDate(String dateTime) throws InvalidCommandException {
-        try {
-            return LocalDate.parse(dateTime, INPUT_DATE_FORMAT);
-        } catch (DateTimeParseException e) {
-            throw new InvalidCommandException("Wrong Date format.\neg. 01-09-2025");
-        }
+     * Forgets the changes made to the notesList once they are saved.
+     */
+    @Override
+    public void clearChanges() {
+        changes.clear();
+    }
+
+    /**
+     * Converts the description of a note into its identity, ignoring case and surrounding whitespaces.
+     */
+    private static String toKey(String description) {
+        return description.trim().toLowerCase(Locale.ENGLISH);
     }
 
     /**
@@ -73,13 +130,11 @@ public class NoteList implements Catalogue {
     }
 
     /**
-     * Parses the dateTime into a date string of format "MMM dd yyyy".
+     * Formats the date of the dateTime into a string of format "MMM dd yyyy".
      */
     @Override
-    public String getDateString(LocalDateTime dateTime) {
-        return dateTime == null
-                ? ""
-                : " on " + dateTime.toLocalDate().format(OUTPUT_DATE_FORMAT);
+    public String formatDateTime(LocalDateTime dateTime) {
+        return DisplayFormat.formatDate(dateTime.toLocalDate());
     }
 
     /**
@@ -90,6 +145,16 @@ public class NoteList implements Catalogue {
         throw new InvalidCommandException("Notes cannot be marked.");
     }
 
+    /**
+     * Notes cannot be labelled.
+     *
+     * @throws InvalidCommandException Always, as notes cannot be labelled.
+     */
+    @Override
+    public List<Note> labelItems(String s, boolean b) throws InvalidCommandException {
+        throw new InvalidCommandException("Notes cannot be marked.");
+    }
+
     /**
      * Adds the new <code>Note</code> into the notesList.
      *
@@ -105,13 +170,18 @@ public class NoteList implements Catalogue {
             throw new InvalidCommandException("The description of a note cannot be empty.");
         }
 
-        if (notesList.stream().anyMatch(n -> n.getDescription().trim().equalsIgnoreCase(note.trim()))) {
+        if (duplicates.contains(toKey(note))) {
             throw new InvalidCommandException("This note already exists.");
         }
 
         if (type.trim().equalsIgnoreCase(NOTE_TYPE)) {
             Note newNote = new Note(note.trim());
             notesList.add(newNote);
+            duplicates.add(newNote);
+            search.add(newNote);
+            dates.add(newNote);
+            results.invalidate(newNote);
+            changes.add(new Change(Change.Type.ADD, newNote));
             return newNote;
         } else {
             throw new InvalidCommandException("\"" + note + "\"");
@@ -131,44 +201,144 @@ public class NoteList implements Catalogue {
             throw new InvalidCommandException("No notes to delete.");
         }
 
-        try {
-            return notesList.remove(Integer.parseInt(index) - 1);
-        } catch (NumberFormatException e) {
-            throw new InvalidCommandException("eg. note delete 1");
-        } catch (IndexOutOfBoundsException e) {
-            throw new InvalidCommandException("Invalid note number.");
+        return removeNote(Catalogue.super.parseIndex(index, DELETE_FORMAT, INVALID_NUMBER));
+    }
+
+    /**
+     * Removes the <code>Note</code> at the index from the notesList and its indexes.
+     */
+    private Note removeNote(int i) {
+        Note note = notesList.remove(i);
+        duplicates.remove(note);
+        search.remove(note);
+        dates.remove(note);
+        results.invalidate(note);
+        changes.add(new Change(Change.Type.DELETE, note));
+        return note;
+    }
+
+    /**
+     * Deletes every note selected in a single pass, from the last so that the positions of the notes before
+     * it do not change.
+     *
+     * @param selection The note numbers and ranges, such as "1-500" or "3,7,9-20".
+     * @return The deleted notes, in the order of the notesList.
+     * @throws InvalidCommandException If notesList is empty or the selection is invalid.
+     */
+    @Override
+    public List<Note> deleteItems(String selection) throws InvalidCommandException {
+        if (notesList.isEmpty()) {
+            throw new InvalidCommandException("No notes to delete.");
+        }
+
+        int[] selected = Catalogue.super.parseSelection(selection, DELETE_SELECTION_FORMAT, INVALID_NUMBER);
+        List<Note> deleted = new ArrayList<>();
+        for (int i = selected.length - 1; i >= 0; i--) {
+            deleted.add(removeNote(selected[i]));
         }
+        Collections.reverse(deleted);
+        return deleted;
     }
 
     /**
-     * Finds all <code>Note</code> in the notesList by the keyword in the description.
+     * Finds all <code>Note</code> in the notesList by the keyword in the description, or returns the cached
+     * result if the keyword was found before. The keyword is trimmed, and is case-sensitive.
      *
      * @param desc The keyword to find by.
      * @return A <code>String</code> representation of the filtered notesList.
      */
     @Override
     public String findItems(String desc) {
-        ArrayList<Note> newNote = notesList.stream()
-                .filter(n -> n.getDescription().contains(desc))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return Catalogue.super.showList(null, newNote);
+        String keyword = desc.trim();
+        String key = "find:" + keyword;
+        String cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ArrayList<Note> newNote = new ArrayList<>(search.find(keyword));
+        return results.put(key, n -> n.getDescription().contains(keyword), Catalogue.super.showList(null, newNote));
     }
 
     /**
-     * Filters the notesList for notes created on the specific dateTime.
-     * <p>
-     * If the dateTime is of wrong format, it throws a <code>DateTimeParseException</code>.
+     * Filters the notesList for notes created on the specific date, or on any date within the range of the
+     * format "date /to date", or returns the cached result if it was filtered before. The result is cached
+     * by the parsed dates, so the same dates written with other spacing share it.
      *
-     * @param dt The dateTime to filter by.
+     * @param dt The date or range to filter by.
      * @return A <code>String</code> representation of the filtered notesList.
+     * @throws InvalidCommandException If a date is of wrong format or the range ends before it starts.
      */
     @Override
     public String filterItems(String dt) throws InvalidCommandException {
-        LocalDate date = parseDate(dt);
-        ArrayList<Note> newNote = notesList.stream()
-                .filter(n -> n.getDate().isEqual(date))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return Catalogue.super.showList(date.atStartOfDay(), newNote);
+        String[] range = dt.split("/to", 2);
+        if (range.length == 2) {
+            LocalDate from = parseDate(range[0].trim());
+            LocalDate to = parseDate(range[1].trim());
+            if (to.isBefore(from)) {
+                throw new InvalidCommandException("The range cannot end before it starts.");
+            }
+
+            String key = "filter:" + from + "/" + to;
+            String cached = results.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            ArrayList<Note> newNote = new ArrayList<>(dates.findBetween(from, to));
+            return results.put(key,
+                    n -> n.getDate() != null && !n.getDate().isBefore(from) && !n.getDate().isAfter(to),
+                    Catalogue.super.createStringList(getRangeString(from.atStartOfDay(), to.atStartOfDay()),
+                            newNote));
+        }
+
+        LocalDate date = parseDate(dt.trim());
+        String key = "filter:" + date;
+        String cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ArrayList<Note> newNote = new ArrayList<>(dates.find(date));
+        return results.put(key, n -> date.equals(n.getDate()),
+                Catalogue.super.showList(date.atStartOfDay(), newNote));
+    }
+
+    /**
+     * Compiles a clause of a query on the notes, with the index that finds its notes.
+     */
+    private Query.Clause<Note> compileClause(String field, char operator, String value)
+            throws InvalidCommandException {
+        switch (field) {
+        case "date" -> {
+            return Query.dateClause(field, operator, parseDate(value), Note::getDate, dates);
+        }
+        case "text" -> {
+            return Query.textClause(field, operator, value, Note::getDescription, search);
+        }
+        default -> throw new InvalidCommandException("No such field \"" + field + "\".\n"
+                + "eg. note query date>01-09-2025 text~groceries");
+        }
+    }
+
+    /**
+     * Finds every note that matches every clause of the query, through the index of the clause that finds
+     * the fewest notes, or by scanning the notesList. The result is cached by the trimmed query.
+     *
+     * @param query The clauses of the query, such as "date&gt;01-09-2025 text~groceries".
+     * @return A <code>String</code> representation of the notes that match the query.
+     * @throws InvalidCommandException If a clause of the query is invalid.
+     */
+    @Override
+    public String queryItems(String query) throws InvalidCommandException {
+        String cached = results.get("query:" + query.trim());
+        if (cached != null) {
+            return cached;
+        }
+
+        Query<Note> compiled = Query.compile(query, this::compileClause);
+        ArrayList<Note> newNote = new ArrayList<>(compiled.run(notesList,
+                Comparator.comparingInt(search::sequenceOf)));
+        return results.put("query:" + query.trim(), compiled::matches,
+                Catalogue.super.createStringList(" matching \"" + query.trim() + "\"", newNote));
     }
 
     /**
@@ -0,0 +1,272 @@
+package lax.catalogue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lax.exception.InvalidCommandException;
+
+/**
+ * Represents a query of one or more clauses over the items in a <code>Catalogue</code>, such as
+ * "type=deadline done=false due&lt;01-12-2025 name~report", where every item must match every clause.
+ * <p>
+ * The query is compiled once into a predicate for every clause. When it is run, the clause whose index
+ * finds the fewest items is used to find the candidates, which are then checked against every predicate.
+ * If no clause has an index that finds fewer items than the whole catalogue, every item is scanned.
+ *
+ * @param <T> The type of item.
+ */
+public class Query<T> {
+    /**
+     * The name of the plan that scans every item.
+     */
+    public static final String SCAN = "scan";
+
+    /**
+     * The pattern of a single clause, which is a field, an operator and a value that may be quoted.
+     */
+    private static final Pattern CLAUSE = Pattern.compile("(\\w+)(<|>|=|~)(\"[^\"]*\"|[^\\s\"]+)\\s*");
+
+    /**
+     * Represents a single clause of a query compiled into a predicate, with the index that finds the items
+     * that may match it, if there is one.
+     *
+     * @param <T> The type of item.
+     */
+    public static class Clause<T> {
+        /**
+         * The field of the items that the clause is on.
+         */
+        private final String field;
+
+        /**
+         * The predicate of the items that match the clause.
+         */
+        private final Predicate<T> predicate;
+
+        /**
+         * The estimate of the number of items found by the index, or <code>null</code> if there is none.
+         */
+        private final IntSupplier estimate;
+
+        /**
+         * The items found by the index, which include every item that matches the clause.
+         */
+        private final Supplier<List<T>> candidates;
+
+        /**
+         * Constructs a clause that has no index, so its items can only be found by a scan.
+         *
+         * @param f The field of the items.
+         * @param p The predicate of the items that match the clause.
+         */
+        public Clause(String f, Predicate<T> p) {
+            this(f, p, null, null);
+        }
+
+        /**
+         * Constructs a clause whose items can be found by an index.
+         *
+         * @param f The field of the items.
+         * @param p The predicate of the items that match the clause.
+         * @param e The estimate of the number of items found by the index.
+         * @param c The items found by the index.
+         */
+        public Clause(String f, Predicate<T> p, IntSupplier e, Supplier<List<T>> c) {
+            field = f;
+            predicate = p;
+            estimate = e;
+            candidates = c;
+        }
+    }
+
+    /**
+     * Represents the compiler of a single clause for the fields of a <code>Catalogue</code>.
+     *
+     * @param <T> The type of item.
+     */
+    @FunctionalInterface
+    public interface Compiler<T> {
+        /**
+         * Compiles the field, operator and value of a clause.
+         *
+         * @throws InvalidCommandException If the field, operator or value is not supported.
+         */
+        Clause<T> compile(String field, char operator, String value) throws InvalidCommandException;
+    }
+
+    /**
+     * The compiled clauses of the query.
+     */
+    private final List<Clause<T>> clauses;
+
+    /**
+     * The field of the clause whose index was used the last time the query was run, or <code>SCAN</code>.
+     */
+    private String plan = SCAN;
+
+    /**
+     * Constructs the query of the compiled clauses.
+     */
+    private Query(List<Clause<T>> c) {
+        clauses = c;
+    }
+
+    /**
+     * Compiles every clause of the query.
+     *
+     * @param query    The query of clauses separated by spaces.
+     * @param compiler The compiler of the clauses for the <code>Catalogue</code>.
+     * @return The compiled query.
+     * @throws InvalidCommandException If the query is empty or a clause is invalid.
+     */
+    public static <T> Query<T> compile(String query, Compiler<T> compiler) throws InvalidCommandException {
+        String trimmed = query.trim();
+        if (trimmed.isEmpty()) {
+            throw new InvalidCommandException("The query cannot be empty.");
+        }
+
+        List<Clause<T>> clauses = new ArrayList<>();
+        Matcher matcher = CLAUSE.matcher(trimmed);
+        int end = 0;
+        while (end < trimmed.length()) {
+            matcher.region(end, trimmed.length());
+            if (!matcher.lookingAt()) {
+                throw new InvalidCommandException("\"" + trimmed.substring(end) + "\"\neg. name~report done=false");
+            }
+
+            String value = matcher.group(3);
+            if (value.startsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            clauses.add(compiler.compile(matcher.group(1).toLowerCase(), matcher.group(2).charAt(0), value));
+            end = matcher.end();
+        }
+        return new Query<>(clauses);
+    }
+
+    /**
+     * Compiles a clause on the date of the items, which is before, after or on the date for the operators
+     * "&lt;", "&gt;" and "=".
+     *
+     * @param field    The field of the items.
+     * @param operator The operator of the clause.
+     * @param date     The date of the clause.
+     * @param dateOf   The function that converts an item to its date, or <code>null</code> if it has none.
+     * @param index    The index of the items by their date, or <code>null</code> if there is none.
+     * @return The compiled clause.
+     * @throws InvalidCommandException If the operator is not supported.
+     */
+    public static <T> Clause<T> dateClause(String field, char operator, LocalDate date,
+            Function<T, LocalDate> dateOf, DateIndex<T> index) throws InvalidCommandException {
+        LocalDate from;
+        LocalDate to;
+        switch (operator) {
+        case '<' -> {
+            from = LocalDate.MIN;
+            to = date.minusDays(1);
+        }
+        case '>' -> {
+            from = date.plusDays(1);
+            to = LocalDate.MAX;
+        }
+        case '=' -> {
+            from = date;
+            to = date;
+        }
+        default -> throw new InvalidCommandException("\"" + field + "\" can only be compared with <, > or =.");
+        }
+
+        Predicate<T> predicate = item -> {
+            LocalDate d = dateOf.apply(item);
+            return d != null && !d.isBefore(from) && !d.isAfter(to);
+        };
+        return index == null
+                ? new Clause<>(field, predicate)
+                : new Clause<>(field, predicate, () -> index.countBetween(from, to), () -> index.findBetween(from, to));
+    }
+
+    /**
+     * Compiles a clause on the text of the items, which contains the value for the operator "~", or is the
+     * value ignoring case for "=".
+     *
+     * @param field    The field of the items.
+     * @param operator The operator of the clause.
+     * @param value    The value of the clause.
+     * @param textOf   The function that converts an item to its text.
+     * @param index    The index of the items by their text, or <code>null</code> if there is none.
+     * @return The compiled clause.
+     * @throws InvalidCommandException If the operator is not supported.
+     */
+    public static <T> Clause<T> textClause(String field, char operator, String value, Function<T, String> textOf,
+            SearchIndex<T> index) throws InvalidCommandException {
+        switch (operator) {
+        case '~' -> {
+            Predicate<T> predicate = item -> textOf.apply(item).contains(value);
+            return index == null
+                    ? new Clause<>(field, predicate)
+                    : new Clause<>(field, predicate, () -> index.estimate(value), () -> index.find(value));
+        }
+        case '=' -> {
+            return new Clause<>(field, item -> textOf.apply(item).equalsIgnoreCase(value));
+        }
+        default -> throw new InvalidCommandException("\"" + field + "\" can only be compared with ~ or =.");
+        }
+    }
+
+    /**
+     * Checks if the item matches every clause of the query.
+     *
+     * @param item The item to check.
+     * @return <code>true</code> if the item matches the query, <code>false</code> otherwise.
+     */
+    public boolean matches(T item) {
+        return clauses.stream().allMatch(clause -> clause.predicate.test(item));
+    }
+
+    /**
+     * Finds every item that matches every clause, through the index that finds the fewest candidates.
+     *
+     * @param items The items of the <code>Catalogue</code>, which are scanned if no index finds fewer.
+     * @param order The order of the items in the <code>Catalogue</code>, which the candidates are sorted by.
+     * @return The items that match the query, in the order of the <code>Catalogue</code>.
+     */
+    public List<T> run(List<T> items, Comparator<T> order) {
+        Clause<T> best = null;
+        int fewest = items.size();
+        for (Clause<T> clause : clauses) {
+            if (clause.estimate == null) {
+                continue;
+            }
+
+            int estimate = clause.estimate.getAsInt();
+            if (estimate < fewest) {
+                best = clause;
+                fewest = estimate;
+            }
+        }
+
+        plan = best == null ? SCAN : best.field;
+        List<T> found = new ArrayList<>();
+        for (T item : best == null ? items : best.candidates.get()) {
+            if (matches(item)) {
+                found.add(item);
+            }
+        }
+        if (best != null) {
+            found.sort(order);
+        }
+        return found;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+}
@@ -0,0 +1,95 @@
+package lax.catalogue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Represents the cache of the most recently used results of the queries on a <code>Catalogue</code>, such as
+ * find and filter, so that a query that is repeated is not run and formatted again.
+ * <p>
+ * Every result is kept with the predicate of the items that it shows. When an item is added, removed or
+ * changed, only the results that show the item are removed, as no other result could have changed.
+ *
+ * @param <T> The type of item.
+ */
+public class ResultCache<T> {
+    /**
+     * Represents a cached result, with the predicate of the items that it shows.
+     */
+    private static class Entry<T> {
+        /**
+         * The formatted result of the query.
+         */
+        private final String result;
+
+        /**
+         * The predicate of the items that are shown in the result.
+         */
+        private final Predicate<T> shows;
+
+        /**
+         * Constructs the entry of the result.
+         */
+        private Entry(String r, Predicate<T> s) {
+            result = r;
+            shows = s;
+        }
+    }
+
+    /**
+     * The cached results by their query, from the least recently used.
+     */
+    private final LinkedHashMap<String, Entry<T>> entries;
+
+    /**
+     * Constructs an empty cache that keeps up to the number of results.
+     *
+     * @param capacity The greatest number of results kept.
+     */
+    public ResultCache(int capacity) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of the query, or <code>null</code> if it is not cached.
+     *
+     * @param query The normalised query, prefixed by its kind, such as "find:book".
+     */
+    public String get(String query) {
+        Entry<T> entry = entries.get(query);
+        return entry == null ? null : entry.result;
+    }
+
+    /**
+     * Caches the result of the query.
+     *
+     * @param query  The normalised query, prefixed by its kind.
+     * @param shows  The predicate of the items that are shown in the result.
+     * @param result The formatted result.
+     * @return The result.
+     */
+    public String put(String query, Predicate<T> shows, String result) {
+        entries.put(query, new Entry<>(result, shows));
+        return result;
+    }
+
+    /**
+     * Removes every cached result that shows the item, in its current state. It is called for an item
+     * that is added or removed, and for an item that is changed both before and after the change.
+     *
+     * @param item The item that is added, removed or changed.
+     */
+    public void invalidate(T item) {
+        entries.values().removeIf(entry -> entry.shows.test(item));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
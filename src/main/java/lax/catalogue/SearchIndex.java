@@ -0,0 +1,771 @@
+package lax.catalogue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Represents the search index of the items in a <code>Catalogue</code> by their text, so that the items
+ * containing a substring are found without scanning every item.
+ * <p>
+ * Every item is given a sequence number in the order of the arraylist. The index keeps an inverted index
+ * of the tokens of every text, and a trigram index of every three consecutive characters, both mapping to
+ * the sorted sequence numbers of the items. Characters are folded to lowercase one at a time, so that a
+ * text containing the substring always contains every trigram of the substring. The candidates found
+ * through the index are then checked against the exact substring. The inverted index also keeps the
+ * number of times every token appears in every text, which ranks the items of a search with BM25.
+ * <p>
+ * The sequence number of a removed item is left unused, and the index is renumbered once most of the
+ * sequence numbers are unused, so that its tables do not grow with every item ever added.
+ *
+ * @param <T> The type of item.
+ */
+public class SearchIndex<T> extends ItemIndex<T> {
+    /**
+     * The first four bytes of every index file, "LAXI".
+     */
+    public static final int MAGIC = 0x4C415849;
+
+    /**
+     * The version of the index file format.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The number of characters in a trigram.
+     */
+    private static final int GRAM = 3;
+
+    /**
+     * The BM25 parameter that limits how much repeats of a token in a text raise its score.
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * The BM25 parameter that sets how much a longer text lowers the score of its tokens.
+     */
+    private static final double B = 0.75;
+
+    /**
+     * The least number of removed items whose sequence numbers are compacted away, once they are more than
+     * the indexed items.
+     */
+    private static final int MIN_COMPACTED = 64;
+
+    /**
+     * Represents a growable array of sorted <code>int</code> values, without boxing every value.
+     */
+    private static class IntList {
+        /**
+         * The values, of which only the first <code>size</code> are used.
+         */
+        protected int[] values = new int[4];
+
+        /**
+         * The number of values.
+         */
+        protected int size = 0;
+
+        /**
+         * Appends the value, which is never smaller than the last value.
+         */
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Removes the value if it is in the list.
+         *
+         * @return The index that the value was at, or -1 if it is not in the list.
+         */
+        int remove(int value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Represents the sorted sequence numbers of the items of a token, with the number of times that the
+     * token appears in the text of every item.
+     */
+    private static class Postings extends IntList {
+        /**
+         * The number of times that the token appears in the text of the item at the same index.
+         */
+        private int[] counts = new int[4];
+
+        /**
+         * Appends the value, or counts the token once more if the value is already the last.
+         */
+        @Override
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                counts[size - 1]++;
+                return;
+            }
+
+            super.add(value);
+            if (counts.length < values.length) {
+                counts = Arrays.copyOf(counts, values.length);
+            }
+            counts[size - 1] = 1;
+        }
+
+        /**
+         * Removes the value and its count if it is in the list.
+         */
+        @Override
+        int remove(int value) {
+            int i = super.remove(value);
+            if (i >= 0) {
+                System.arraycopy(counts, i + 1, counts, i, size - i);
+            }
+            return i;
+        }
+    }
+
+    /**
+     * The sorted sequence numbers of the items of every token, with the number of times it appears.
+     */
+    private final HashMap<String, Postings> tokens = new HashMap<>();
+
+    /**
+     * The sorted sequence numbers of the items of every trigram, packed into a <code>long</code>.
+     */
+    private final HashMap<Long, IntList> trigrams = new HashMap<>();
+
+    /**
+     * The item of every sequence number, or <code>null</code> if it was removed.
+     */
+    private final ArrayList<T> bySequence = new ArrayList<>();
+
+    /**
+     * The sequence number of every indexed item, by identity since items may be equal to one another.
+     */
+    private final IdentityHashMap<T, Integer> sequences = new IdentityHashMap<>();
+
+    /**
+     * The function that converts an item to the text that it is searched by.
+     */
+    private final Function<T, String> textOf;
+
+    /**
+     * The number of tokens in the text of the item of every sequence number.
+     */
+    private int[] lengths = new int[16];
+
+    /**
+     * The total number of tokens in the texts of every indexed item.
+     */
+    private long totalLength = 0;
+
+    /**
+     * Constructs the index of the items.
+     *
+     * @param i The items to be indexed.
+     * @param t The function that converts an item to the text that it is searched by.
+     */
+    public SearchIndex(List<T> i, Function<T, String> t) {
+        super(i);
+        textOf = t;
+    }
+
+    /**
+     * Folds the text to lowercase one character at a time, so that its length is kept.
+     */
+    private static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Packs the trigram starting at the index of the text into a <code>long</code>.
+     */
+    private static long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    /**
+     * Checks if the character is part of a token.
+     */
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Splits the folded text into its tokens, in order and including repeats.
+     */
+    private static List<String> tokenize(String folded) {
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean isToken = i < folded.length() && isTokenChar(folded.charAt(i));
+            if (isToken && start < 0) {
+                start = i;
+            } else if (!isToken && start >= 0) {
+                result.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the item to the index with the next sequence number.
+     */
+    @Override
+    protected void insert(T item) {
+        int sequence = bySequence.size();
+        bySequence.add(item);
+        sequences.put(item, sequence);
+
+        String folded = fold(textOf.apply(item));
+        List<String> itemTokens = tokenize(folded);
+        for (String token : itemTokens) {
+            tokens.computeIfAbsent(token, k -> new Postings()).add(sequence);
+        }
+        if (sequence >= lengths.length) {
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+        }
+        lengths[sequence] = itemTokens.size();
+        totalLength += itemTokens.size();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            trigrams.computeIfAbsent(trigramAt(folded, i), k -> new IntList()).add(sequence);
+        }
+    }
+
+    /**
+     * Removes the item from the index.
+     */
+    @Override
+    protected void delete(T item) {
+        Integer sequence = sequences.remove(item);
+        if (sequence == null) {
+            return;
+        }
+
+        String folded = fold(textOf.apply(item));
+        bySequence.set(sequence, null);
+        totalLength -= lengths[sequence];
+        for (String token : tokenize(folded)) {
+            IntList list = tokens.get(token);
+            if (list != null) {
+                list.remove(sequence);
+                if (list.size == 0) {
+                    tokens.remove(token);
+                }
+            }
+        }
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            long trigram = trigramAt(folded, i);
+            IntList list = trigrams.get(trigram);
+            if (list != null) {
+                list.remove(sequence);
+                if (list.size == 0) {
+                    trigrams.remove(trigram);
+                }
+            }
+        }
+
+        int unused = bySequence.size() - sequences.size();
+        if (unused > MIN_COMPACTED && unused > sequences.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Maps the sequence number of every indexed item to its position among the indexed items, which keeps
+     * their order.
+     */
+    private int[] positions() {
+        int[] positions = new int[bySequence.size()];
+        int position = 0;
+        for (int i = 0; i < bySequence.size(); i++) {
+            if (bySequence.get(i) != null) {
+                positions[i] = position++;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Renumbers the indexed items to their positions among the indexed items, dropping the sequence numbers
+     * of the removed items. The sorted lists stay sorted, as the order of the items is kept.
+     */
+    private void compact() {
+        int[] positions = positions();
+        ArrayList<T> indexed = new ArrayList<>(sequences.size());
+        int[] newLengths = new int[Math.max(sequences.size(), 16)];
+        for (int i = 0; i < bySequence.size(); i++) {
+            T item = bySequence.get(i);
+            if (item != null) {
+                indexed.add(item);
+                sequences.put(item, positions[i]);
+                newLengths[positions[i]] = lengths[i];
+            }
+        }
+        bySequence.clear();
+        bySequence.addAll(indexed);
+        bySequence.trimToSize();
+        lengths = newLengths;
+
+        for (IntList list : tokens.values()) {
+            renumber(list, positions);
+        }
+        for (IntList list : trigrams.values()) {
+            renumber(list, positions);
+        }
+    }
+
+    /**
+     * Renumbers the sorted sequence numbers in place.
+     */
+    private static void renumber(IntList list, int[] positions) {
+        for (int i = 0; i < list.size; i++) {
+            list.values[i] = positions[list.values[i]];
+        }
+    }
+
+    /**
+     * Intersects the two sorted lists of sequence numbers.
+     */
+    private static IntList intersect(IntList a, IntList b) {
+        IntList result = new IntList();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.values[i] < b.values[j]) {
+                i++;
+            } else if (a.values[i] > b.values[j]) {
+                j++;
+            } else {
+                result.add(a.values[i]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the tokens of the folded query that are bounded by other characters on both sides. Only such
+     * tokens have to appear whole in a text that contains the query.
+     */
+    private static List<String> wholeTokens(String folded) {
+        List<String> result = new ArrayList<>();
+        int i = 0;
+        while (i < folded.length()) {
+            if (!isTokenChar(folded.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < folded.length() && isTokenChar(folded.charAt(i))) {
+                i++;
+            }
+            if (start > 0 && i < folded.length()) {
+                result.add(folded.substring(start, i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the sorted sequence numbers of every item that may contain the substring, or <code>null</code>
+     * if the substring is too short to be looked up.
+     */
+    private IntList findCandidates(String substring) {
+        String folded = fold(substring);
+        if (folded.length() < GRAM) {
+            return null;
+        }
+
+        List<IntList> lists = new ArrayList<>();
+        for (String token : wholeTokens(folded)) {
+            IntList list = tokens.get(token);
+            lists.add(list == null ? new IntList() : list);
+        }
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            lists.add(trigrams.getOrDefault(trigramAt(folded, i), new IntList()));
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        IntList candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.size > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Estimates the number of items whose text contains the substring, as the number of items of its rarest
+     * token or trigram, without intersecting them.
+     *
+     * @param substring The substring to find.
+     * @return The greatest number of items that <code>find</code> could return for the substring.
+     */
+    public int estimate(String substring) {
+        build();
+        String folded = fold(substring);
+        if (folded.length() < GRAM) {
+            return items.size();
+        }
+
+        int estimate = items.size();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            IntList list = trigrams.get(trigramAt(folded, i));
+            estimate = Math.min(estimate, list == null ? 0 : list.size);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the sequence number of the item, which orders the items as the arraylist does, or -1 if the
+     * item is not indexed.
+     *
+     * @param item The item in the arraylist.
+     * @return The sequence number of the item.
+     */
+    public int sequenceOf(T item) {
+        build();
+        return sequences.getOrDefault(item, -1);
+    }
+
+    /**
+     * Finds every item whose text contains the substring, in the order of the arraylist. It is case-sensitive,
+     * as <code>String.contains</code> is.
+     *
+     * @param substring The substring to find.
+     * @return The items containing the substring.
+     */
+    public List<T> find(String substring) {
+        build();
+        IntList candidates = findCandidates(substring);
+        List<T> found = new ArrayList<>();
+        if (candidates == null) {
+            for (T item : items) {
+                if (textOf.apply(item).contains(substring)) {
+                    found.add(item);
+                }
+            }
+            return found;
+        }
+
+        for (int i = 0; i < candidates.size; i++) {
+            T item = bySequence.get(candidates.values[i]);
+            if (textOf.apply(item).contains(substring)) {
+                found.add(item);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Ranks the items by the tokens of the query with BM25, ignoring case. Only the best items are kept in
+     * a bounded heap while the items are scored.
+     *
+     * @param query The query of one or more tokens.
+     * @param limit The greatest number of items to return.
+     * @return The best items in order of their scores, with ties in the order of the arraylist.
+     */
+    public List<T> search(String query, int limit) {
+        build();
+        int count = sequences.size();
+        if (count == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        double averageLength = Math.max(1.0, (double) totalLength / count);
+        HashMap<Integer, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(tokenize(fold(query)))) {
+            Postings postings = tokens.get(term);
+            if (postings == null) {
+                continue;
+            }
+
+            double idf = idf(count, postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                scores.merge(postings.values[i],
+                        weigh(idf, postings.counts[i], lengths[postings.values[i]], averageLength), Double::sum);
+            }
+        }
+
+        List<T> ranked = new ArrayList<>(limit);
+        for (int sequence : best(scores, limit)) {
+            ranked.add(bySequence.get(sequence));
+        }
+        return ranked;
+    }
+
+    /**
+     * Ranks the texts by the tokens of the query with BM25, ignoring case, as <code>search</code> does, but
+     * by scanning the texts once instead of through an index. Only the counts of the tokens of the query
+     * are kept, so nothing is built that lasts beyond the scan.
+     *
+     * @param texts The texts to rank, such as the names of the tasks of a columnar list.
+     * @param query The query of one or more tokens.
+     * @param limit The greatest number of texts to return.
+     * @return The positions of the best texts in order of their scores, with ties in the order of the texts.
+     */
+    public static List<Integer> rank(List<String> texts, String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(fold(query))));
+        if (texts.isEmpty() || terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        long totalLength = 0;
+        int[] documents = new int[terms.size()];
+        HashMap<Integer, int[]> frequencies = new HashMap<>();
+        HashMap<Integer, Integer> matchedLengths = new HashMap<>();
+        for (int position = 0; position < texts.size(); position++) {
+            List<String> textTokens = tokenize(fold(texts.get(position)));
+            totalLength += textTokens.size();
+            int[] counts = null;
+            for (String token : textTokens) {
+                int term = terms.indexOf(token);
+                if (term < 0) {
+                    continue;
+                }
+                if (counts == null) {
+                    counts = new int[terms.size()];
+                }
+                if (counts[term]++ == 0) {
+                    documents[term]++;
+                }
+            }
+            if (counts != null) {
+                frequencies.put(position, counts);
+                matchedLengths.put(position, textTokens.size());
+            }
+        }
+
+        double averageLength = Math.max(1.0, (double) totalLength / texts.size());
+        HashMap<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<Integer, int[]> entry : frequencies.entrySet()) {
+            double score = 0;
+            for (int term = 0; term < terms.size(); term++) {
+                int frequency = entry.getValue()[term];
+                if (frequency > 0) {
+                    score += weigh(idf(texts.size(), documents[term]), frequency,
+                            matchedLengths.get(entry.getKey()), averageLength);
+                }
+            }
+            scores.put(entry.getKey(), score);
+        }
+        return best(scores, limit);
+    }
+
+    /**
+     * Computes the BM25 weight of a token that is in the number of documents out of the count.
+     */
+    private static double idf(int count, int documents) {
+        return Math.log(1 + (count - documents + 0.5) / (documents + 0.5));
+    }
+
+    /**
+     * Computes the BM25 score of a token that appears the number of times in a text of the length.
+     */
+    private static double weigh(double idf, int frequency, int length, double averageLength) {
+        double norm = 1 - B + B * length / averageLength;
+        return idf * frequency * (K1 + 1) / (frequency + K1 * norm);
+    }
+
+    /**
+     * Keeps the best of the scores in a bounded heap.
+     *
+     * @return The keys of the best scores from the best, with ties from the smallest key.
+     */
+    private static List<Integer> best(Map<Integer, Double> scores, int limit) {
+        // The worst of the best items so far is at the head, so that it is the one replaced
+        Comparator<Map.Entry<Integer, Double>> worstFirst = Map.Entry.<Integer, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(limit + 1, worstFirst);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Integer> keys = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            keys.add(best.poll().getKey());
+        }
+        Collections.reverse(keys);
+        return keys;
+    }
+
+    /**
+     * Computes the fingerprint of the texts of the items in order, which tells if a saved index still
+     * matches them.
+     */
+    private long fingerprint() {
+        long hash = items.size();
+        for (T item : items) {
+            hash = hash * 1_000_003L + textOf.apply(item).hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Writes the sorted sequence numbers, renumbered to the positions of the items in the arraylist.
+     */
+    private static void writeList(DataOutputStream out, IntList list, int[] positions) throws IOException {
+        out.writeInt(list.size);
+        for (int i = 0; i < list.size; i++) {
+            out.writeInt(positions[list.values[i]]);
+        }
+    }
+
+    /**
+     * Writes the postings of a token, renumbered to the positions of the items in the arraylist.
+     */
+    private static void writePostings(DataOutputStream out, Postings postings, int[] positions)
+            throws IOException {
+        writeList(out, postings, positions);
+        for (int i = 0; i < postings.size; i++) {
+            out.writeInt(postings.counts[i]);
+        }
+    }
+
+    /**
+     * Reads the postings of a token.
+     */
+    private static Postings readPostings(DataInputStream in) throws IOException {
+        Postings postings = new Postings();
+        IntList list = readList(in);
+        postings.values = list.values;
+        postings.size = list.size;
+        postings.counts = new int[list.values.length];
+        for (int i = 0; i < postings.size; i++) {
+            postings.counts[i] = in.readInt();
+        }
+        return postings;
+    }
+
+    /**
+     * Reads the sorted sequence numbers.
+     */
+    private static IntList readList(DataInputStream in) throws IOException {
+        IntList list = new IntList();
+        int size = in.readInt();
+        list.values = new int[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            list.values[i] = in.readInt();
+        }
+        list.size = size;
+        return list;
+    }
+
+    /**
+     * Writes the index into the file, with the items renumbered to their positions in the arraylist.
+     *
+     * @param path The path of the index file.
+     * @throws IOException If the file could not be written.
+     */
+    public void writeTo(Path path) throws IOException {
+        build();
+        int[] positions = positions();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(items.size());
+            out.writeLong(fingerprint());
+            out.writeInt(tokens.size());
+            for (Map.Entry<String, Postings> entry : tokens.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writePostings(out, entry.getValue(), positions);
+            }
+            out.writeInt(trigrams.size());
+            for (Map.Entry<Long, IntList> entry : trigrams.entrySet()) {
+                out.writeLong(entry.getKey());
+                writeList(out, entry.getValue(), positions);
+            }
+        }
+    }
+
+    /**
+     * Reads the index from the file if it still matches the items. Otherwise, the index is left to be
+     * rebuilt when it is first used.
+     *
+     * @param path The path of the index file.
+     * @return <code>true</code> if the index is read, <code>false</code> if there is no such file, or it
+     *         could not be read or does not match the items.
+     */
+    public boolean readFrom(Path path) {
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        HashMap<String, Postings> newTokens = new HashMap<>();
+        HashMap<Long, IntList> newTrigrams = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != items.size()
+                    || in.readLong() != fingerprint()) {
+                return false;
+            }
+
+            int tokenCount = in.readInt();
+            for (int i = 0; i < tokenCount; i++) {
+                newTokens.put(in.readUTF(), readPostings(in));
+            }
+            int trigramCount = in.readInt();
+            for (int i = 0; i < trigramCount; i++) {
+                newTrigrams.put(in.readLong(), readList(in));
+            }
+        } catch (IOException e) {
+            return false;
+        }
+
+        tokens.clear();
+        tokens.putAll(newTokens);
+        trigrams.clear();
+        trigrams.putAll(newTrigrams);
+        bySequence.clear();
+        sequences.clear();
+        for (T item : items) {
+            sequences.put(item, bySequence.size());
+            bySequence.add(item);
+        }
+
+        lengths = new int[Math.max(items.size(), 16)];
+        totalLength = 0;
+        for (Postings postings : tokens.values()) {
+            for (int i = 0; i < postings.size; i++) {
+                lengths[postings.values[i]] += postings.counts[i];
+                totalLength += postings.counts[i];
+            }
+        }
+        setBuilt();
+        return true;
+    }
+}
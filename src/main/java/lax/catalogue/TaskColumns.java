@@ -0,0 +1,493 @@
+package lax.catalogue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import lax.item.task.Deadline;
+import lax.item.task.Event;
+import lax.item.task.Task;
+import lax.item.task.Todo;
+
+/**
+ * Represents the list of tasks in a <code>TaskList</code> stored in columns of primitives instead of a
+ * <code>Task</code> object for every task, which takes a fraction of the memory for large lists.
+ * <p>
+ * The dateTimes are stored as epoch-seconds, the completion of the tasks as a bitset and the names of the
+ * tasks in a single heap of characters. A <code>Task</code> is only created when a task is read from the
+ * list, as a copy of its columns, so a change to the copy is only kept once it is set back into the list.
+ * <p>
+ * Adding or removing a task shifts the columns after it, which are arrays of primitives, so the list is
+ * suited to large lists that are mostly read. The ids of the tasks are kept in a column too, and are in
+ * ascending order as long as tasks are only added to the end, so a task is found by its id by a binary
+ * search of the column.
+ * <p>
+ * The list keeps no index of the tasks, so finding, filtering, searching and checking for duplicates all
+ * scan the columns, which is linear in the number of tasks but creates only the tasks that are found.
+ */
+public class TaskColumns extends AbstractList<Task> implements ItemList<Task> {
+    /**
+     * The type of a <code>Todo</code>.
+     */
+    private static final byte TODO = 0;
+
+    /**
+     * The type of a <code>Deadline</code>.
+     */
+    private static final byte DEADLINE = 1;
+
+    /**
+     * The type of an <code>Event</code>.
+     */
+    private static final byte EVENT = 2;
+
+    /**
+     * The value of a dateTime column of a task that does not have the dateTime.
+     */
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * The number of tasks that the columns can hold at first.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The completion of every task.
+     */
+    private final BitSet completed = new BitSet();
+
+    /**
+     * The type of every task.
+     */
+    private byte[] types = new byte[INITIAL_CAPACITY];
+
+    /**
+     * The id of every task.
+     */
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    /**
+     * The start of every event, or <code>NONE</code> for other tasks.
+     */
+    private long[] starts = new long[INITIAL_CAPACITY];
+
+    /**
+     * The due date of every deadline and the end of every event, or <code>NONE</code> for todos.
+     */
+    private long[] ends = new long[INITIAL_CAPACITY];
+
+    /**
+     * The offset of the name of every task in the heap.
+     */
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+
+    /**
+     * The length of the name of every task.
+     */
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+
+    /**
+     * The characters of the names of the tasks, one after another.
+     */
+    private char[] heap = new char[INITIAL_CAPACITY * 16];
+
+    /**
+     * The number of characters used in the heap.
+     */
+    private int heapSize = 0;
+
+    /**
+     * The number of characters in the heap of names that were removed or replaced.
+     */
+    private int garbage = 0;
+
+    /**
+     * The number of tasks in the list.
+     */
+    private int size = 0;
+
+    /**
+     * The id given to the next task that is added without one.
+     */
+    private int nextId = 1;
+
+    /**
+     * Constructs an empty list.
+     */
+    public TaskColumns() {
+    }
+
+    /**
+     * Constructs the list of the tasks, in the order of the collection.
+     *
+     * @param c The tasks of the list.
+     */
+    public TaskColumns(Collection<? extends Task> c) {
+        addAll(c);
+    }
+
+    /**
+     * Converts the dateTime into epoch-seconds, or <code>NONE</code> if it is <code>null</code>.
+     */
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime == null ? NONE : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts the epoch-seconds into a dateTime.
+     */
+    private static LocalDateTime toDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the type of the task.
+     */
+    private static byte typeOf(Task t) {
+        if (t instanceof Deadline) {
+            return DEADLINE;
+        } else if (t instanceof Event) {
+            return EVENT;
+        } else {
+            return TODO;
+        }
+    }
+
+    /**
+     * Grows the columns so that they can hold one more task.
+     */
+    private void ensureCapacity() {
+        if (size < types.length) {
+            return;
+        }
+
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+        nameLengths = Arrays.copyOf(nameLengths, capacity);
+    }
+
+    /**
+     * Appends the name to the heap, and moves the names to the front of a new heap first if more than half
+     * of it is garbage.
+     *
+     * @return The offset of the name in the heap.
+     */
+    private int appendName(String name) {
+        if (garbage > heapSize / 2) {
+            char[] compacted = new char[Math.max(heap.length, (heapSize - garbage) * 2 + name.length())];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(heap, nameOffsets[i], compacted, offset, nameLengths[i]);
+                nameOffsets[i] = offset;
+                offset += nameLengths[i];
+            }
+            heap = compacted;
+            heapSize = offset;
+            garbage = 0;
+        }
+
+        if (heapSize + name.length() > heap.length) {
+            heap = Arrays.copyOf(heap, Math.max(heap.length * 2, heapSize + name.length()));
+        }
+        name.getChars(0, name.length(), heap, heapSize);
+        heapSize += name.length();
+        return heapSize - name.length();
+    }
+
+    /**
+     * Checks if the name of the task at the index is the name.
+     */
+    private boolean hasName(int index, String name, boolean isIgnoreCase) {
+        if (nameLengths[index] != name.length()) {
+            return false;
+        }
+        return matchesAt(index, 0, name, isIgnoreCase);
+    }
+
+    /**
+     * Checks if the text is in the name of the task at the index, starting from the position of the name.
+     */
+    private boolean matchesAt(int index, int position, String text, boolean isIgnoreCase) {
+        int offset = nameOffsets[index] + position;
+        for (int i = 0; i < text.length(); i++) {
+            char c = heap[offset + i];
+            char d = text.charAt(i);
+            if (c != d && !(isIgnoreCase && Character.toLowerCase(c) == Character.toLowerCase(d))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the task the next id, unless it already has an id that no other task in the list has. The list
+     * is only searched for the id if it is not larger than every id in the list.
+     */
+    private void giveId(Task t) {
+        if (t.getId() <= 0 || (t.getId() < nextId && indexOfId(t.getId()) >= 0)) {
+            t.setId(nextId);
+        }
+        nextId = Math.max(nextId, t.getId() + 1);
+    }
+
+    /**
+     * Writes the type, completion and dateTimes of the task into the columns at the index.
+     */
+    private void writeFields(int index, Task t) {
+        types[index] = typeOf(t);
+        completed.set(index, t.isCompleted());
+        if (t instanceof Deadline temp) {
+            starts[index] = NONE;
+            ends[index] = toSeconds(temp.getDueDate());
+        } else if (t instanceof Event temp) {
+            starts[index] = toSeconds(temp.getStartDate());
+            ends[index] = toSeconds(temp.getEndDate());
+        } else {
+            starts[index] = NONE;
+            ends[index] = NONE;
+        }
+    }
+
+    /**
+     * Writes the task into the columns at the index.
+     */
+    private void write(int index, Task t) {
+        writeFields(index, t);
+        nameOffsets[index] = appendName(t.getName());
+        nameLengths[index] = t.getName().length();
+    }
+
+    /**
+     * Moves the completion of the tasks from the index onwards by the shift.
+     */
+    private void shiftCompleted(int index, int shift) {
+        BitSet rest = completed.get(index, size);
+        completed.clear(Math.min(index, index + shift), size + Math.max(shift, 0));
+        rest.stream().forEach(i -> completed.set(index + shift + i));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only view of the names of the tasks, where a name is only created when it is read,
+     * without the rest of its task.
+     */
+    public List<String> names() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                Objects.checkIndex(index, size);
+                return new String(heap, nameOffsets[index], nameLengths[index]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Creates a <code>Task</code> from the columns of the task at the index.
+     */
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        Task t = create(index);
+        t.setId(ids[index]);
+        return t;
+    }
+
+    /**
+     * Creates the specific <code>Task</code> from the type, completion, name and dateTimes at the index.
+     */
+    private Task create(int index) {
+        String name = new String(heap, nameOffsets[index], nameLengths[index]);
+        boolean isCompleted = completed.get(index);
+        switch (types[index]) {
+        case DEADLINE -> {
+            return new Deadline(name, isCompleted, toDateTime(ends[index]));
+        }
+        case EVENT -> {
+            return new Event(name, isCompleted, toDateTime(starts[index]), toDateTime(ends[index]));
+        }
+        default -> {
+            return new Todo(name, isCompleted);
+        }
+        }
+    }
+
+    /**
+     * Finds the position of the task with the id by a binary search of the ids, and by a scan if the ids are
+     * not in ascending order.
+     */
+    @Override
+    public int indexOfId(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0 && ids[index] == id) {
+            return index;
+        }
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the task at the index with the task, keeping its name in the heap if it is unchanged. The
+     * task is given the id of the task that it replaces.
+     *
+     * @return The task that is replaced.
+     */
+    @Override
+    public Task set(int index, Task t) {
+        Task old = get(index);
+        if (t.getId() != old.getId()) {
+            t.setId(old.getId());
+        }
+        if (hasName(index, t.getName(), false)) {
+            writeFields(index, t);
+        } else {
+            garbage += nameLengths[index];
+            write(index, t);
+        }
+        return old;
+    }
+
+    /**
+     * Inserts the task at the index, which is given an id if it has none or another task has its id.
+     */
+    @Override
+    public void add(int index, Task t) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        giveId(t);
+        ensureCapacity();
+        int moved = size - index;
+        System.arraycopy(types, index, types, index + 1, moved);
+        System.arraycopy(ids, index, ids, index + 1, moved);
+        System.arraycopy(starts, index, starts, index + 1, moved);
+        System.arraycopy(ends, index, ends, index + 1, moved);
+        System.arraycopy(nameOffsets, index, nameOffsets, index + 1, moved);
+        System.arraycopy(nameLengths, index, nameLengths, index + 1, moved);
+        shiftCompleted(index, 1);
+        size++;
+        ids[index] = t.getId();
+        write(index, t);
+        modCount++;
+    }
+
+    /**
+     * Removes the task at the index.
+     *
+     * @return The task that is removed.
+     */
+    @Override
+    public Task remove(int index) {
+        Task old = get(index);
+        garbage += nameLengths[index];
+        int moved = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(ids, index + 1, ids, index, moved);
+        System.arraycopy(starts, index + 1, starts, index, moved);
+        System.arraycopy(ends, index + 1, ends, index, moved);
+        System.arraycopy(nameOffsets, index + 1, nameOffsets, index, moved);
+        System.arraycopy(nameLengths, index + 1, nameLengths, index, moved);
+        shiftCompleted(index + 1, -1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Removes every task. The ids of the tasks are not given again.
+     */
+    @Override
+    public void clear() {
+        completed.clear();
+        heapSize = 0;
+        garbage = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Checks if a task in the list is equal to the task, which is of the same type, name ignoring case and
+     * dateTimes, without creating the tasks in the list.
+     *
+     * @param t The task to look for.
+     * @return <code>true</code> if an equal task is in the list, <code>false</code> otherwise.
+     */
+    public boolean containsEqual(Task t) {
+        byte type = typeOf(t);
+        long start = t instanceof Event temp ? toSeconds(temp.getStartDate()) : NONE;
+        long end = t instanceof Deadline temp ? toSeconds(temp.getDueDate())
+                : t instanceof Event temp ? toSeconds(temp.getEndDate()) : NONE;
+        for (int i = 0; i < size; i++) {
+            if (types[i] == type && starts[i] == start && ends[i] == end && hasName(i, t.getName(), true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds every task whose name contains the text, in the order of the list. Only the tasks found are
+     * created.
+     *
+     * @param text The text to find, which is case-sensitive.
+     * @return The tasks found.
+     */
+    public List<Task> findByName(String text) {
+        List<Task> found = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (int p = 0; p + text.length() <= nameLengths[i]; p++) {
+                if (matchesAt(i, p, text, false)) {
+                    found.add(get(i));
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds every task that happens at any time within the range, in the order of the list, like
+     * <code>IntervalIndex</code>. Only the tasks found are created.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range.
+     * @return The tasks whose periods overlap the range.
+     */
+    public List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = toSeconds(from);
+        long toSeconds = toSeconds(to);
+        List<Task> found = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (ends[i] != NONE && starts[i] < toSeconds && ends[i] > fromSeconds) {
+                found.add(get(i));
+            }
+        }
+        return found;
+    }
+}
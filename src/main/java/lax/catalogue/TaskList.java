@@ -1,10 +1,17 @@
 package lax.catalogue;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import lax.exception.InvalidCommandException;
+import lax.exception.Result;
 import lax.item.task.Deadline;
 import lax.item.task.Event;
 import lax.item.task.Task;
@@ -15,9 +22,82 @@ import lax.item.task.Todo;
  */
 public class TaskList implements Catalogue {
     /**
-     * The arraylist to store the list of task.
+     * The error of a task number that is not within the taskList, which is created once.
      */
-    private final ArrayList<Task> taskList;
+    private static final InvalidCommandException INVALID_NUMBER = new InvalidCommandException("Invalid task number.");
+
+    /**
+     * The error of a label command whose task number is not a number.
+     */
+    private static final InvalidCommandException LABEL_FORMAT =
+            new InvalidCommandException("eg. task mark 1\neg. task unmark 1");
+
+    /**
+     * The error of a label command whose selection is of wrong format.
+     */
+    private static final InvalidCommandException LABEL_SELECTION_FORMAT =
+            new InvalidCommandException("eg. task mark 1-3,7\neg. task unmark done");
+
+    /**
+     * The error of a delete command whose task number is not a number.
+     */
+    private static final InvalidCommandException DELETE_FORMAT = new InvalidCommandException("eg. task delete 1");
+
+    /**
+     * The error of a delete command whose selection is of wrong format.
+     */
+    private static final InvalidCommandException DELETE_SELECTION_FORMAT =
+            new InvalidCommandException("eg. task delete 3,7,9-20\neg. task delete done");
+
+    /**
+     * The list of task, which is an <code>ItemTree</code> that finds and removes the task at any position
+     * without shifting the rest, or the columns if the taskList is columnar.
+     */
+    private final ItemList<Task> taskList;
+
+    /**
+     * The columns of the tasks if the taskList is columnar, or <code>null</code> otherwise. The columns hold
+     * no <code>Task</code> objects, so the indexes below, which do, are not kept and the columns are scanned
+     * instead.
+     */
+    private final TaskColumns columns;
+
+    /**
+     * The changes made to the taskList since it was last saved.
+     */
+    private final ArrayList<Change> changes = new ArrayList<>();
+
+    /**
+     * The cached results of find, filter and query, which are removed when a task that they show changes.
+     */
+    private final ResultCache<Task> results = new ResultCache<>(MAX_CACHED_RESULTS);
+
+    /**
+     * The index of the tasks in the taskList by the identity of their <code>equals</code>.
+     */
+    private final DuplicateIndex<Task, Task> duplicates;
+
+    /**
+     * The index of the deadlines and events in the taskList by the period that they happen over.
+     */
+    private final IntervalIndex<Task> periods;
+
+    /**
+     * The index of the tasks in the taskList by the text that they are found by.
+     */
+    private final SearchIndex<Task> search;
+
+    /**
+     * The index of the deadlines and events in the taskList by the day that they are due or end.
+     */
+    private final DateIndex<Task> dues;
+
+    /**
+     * The tasks in the taskList that are completed, by identity, which is the index of their status. It is
+     * kept in step as the tasks are added, labelled and removed, so a task must only be marked or unmarked
+     * through the taskList.
+     */
+    private final Set<Task> completed;
 
     /**
      * The types of <code>Task</code> available.
@@ -25,18 +105,75 @@ public class TaskList implements Catalogue {
     public enum TaskType { TODO, DEADLINE, EVENT }
 
     /**
-     * Constructs the list of task with an arraylist.
+     * Constructs the list of task with the tasks of an arraylist, which is copied.
      *
      * @param t The arraylist of task.
      */
     public TaskList(ArrayList<Task> t) {
+        this(new ItemTree<>(t));
+    }
+
+    /**
+     * Constructs the list of task that holds the tasks of the tree, such as those loaded from the database
+     * file, without copying them.
+     *
+     * @param t The tree of task.
+     */
+    public TaskList(ItemTree<Task> t) {
         taskList = t;
+        columns = null;
+        duplicates = new DuplicateIndex<>(taskList, task -> task);
+        periods = new IntervalIndex<>(taskList, TaskList::getStartDate, TaskList::getEndDate);
+        search = new SearchIndex<>(taskList, Task::getName);
+        dues = new DateIndex<>(taskList, TaskList::getDueDay);
+        completed = Collections.newSetFromMap(new IdentityHashMap<>());
+        taskList.stream().filter(Task::isCompleted).forEach(completed::add);
+    }
+
+    /**
+     * Constructs the columnar list of task, which keeps the tasks in the columns and creates a
+     * <code>Task</code> only when it is displayed or changed.
+     *
+     * @param c The columns of the tasks.
+     */
+    public TaskList(TaskColumns c) {
+        taskList = c;
+        columns = c;
+        duplicates = null;
+        periods = null;
+        search = null;
+        dues = null;
+        completed = null;
     }
 
     public int size() {
         return taskList.size();
     }
 
+    public List<Task> getItems() {
+        return Collections.unmodifiableList(taskList);
+    }
+
+    /**
+     * Returns the index of the tasks by the text that they are found by, or <code>null</code> if the taskList
+     * is columnar, which keeps no index.
+     */
+    public SearchIndex<Task> getSearchIndex() {
+        return search;
+    }
+
+    public List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Forgets the changes made to the taskList once they are saved.
+     */
+    @Override
+    public void clearChanges() {
+        changes.clear();
+    }
+
     /**
      * Converts the taskList into a <code>String</code> for displaying.
      */
@@ -51,26 +188,70 @@ public class TaskList implements Catalogue {
      * @param number The index of the <code>Task</code> in the taskList.
      * @param mark   Mark or Unmark the <code>Task</code>.
      * @return The <code>Task</code> that is modified.
-     * @throws InvalidCommandException If <code>Task</code> is already labelled as param <code>mark</code>.
+     * @throws InvalidCommandException If <code>Task</code> is already labelled as param <code>mark</code>,
+     *                                 or the task number is invalid.
      */
     private Task updateTaskLabel(String number, boolean mark) throws InvalidCommandException {
-        Task t = taskList.get(Integer.parseInt(number) - 1);
+        int index = Catalogue.super.parseIndex(number, LABEL_FORMAT, INVALID_NUMBER);
+        Task t = taskList.get(index);
         assert t != null : "task should not be null";
 
         if (mark) {
             if (t.isCompleted()) {
                 throw new InvalidCommandException("Task \"" + t.getName() + "\" is already marked as done");
             }
-
-            t.markTask();
         } else {
             if (!t.isCompleted()) {
                 throw new InvalidCommandException("Task \"" + t.getName() + "\" is already marked as not done");
             }
+        }
+        setLabel(index, t, mark);
+        return t;
+    }
 
+    /**
+     * Labels the <code>Task</code> at the index and keeps its label. The cached results that show the task
+     * either before or after it is labelled are removed.
+     */
+    private void setLabel(int index, Task t, boolean mark) {
+        results.invalidate(t);
+        if (mark) {
+            t.markTask();
+        } else {
             t.unmarkTask();
         }
-        return t;
+        results.invalidate(t);
+        taskList.set(index, t);
+        if (completed != null && mark) {
+            completed.add(t);
+        } else if (completed != null) {
+            completed.remove(t);
+        }
+        changes.add(new Change(mark ? Change.Type.MARK : Change.Type.UNMARK, t));
+    }
+
+    /**
+     * Finds the positions of the tasks selected by a selection of task numbers, or by "done" or "undone"
+     * for every task that is completed or not completed.
+     *
+     * @throws InvalidCommandException If the selection is of wrong format or not within the taskList.
+     */
+    private int[] selectTasks(String selection, InvalidCommandException notSelection)
+            throws InvalidCommandException {
+        String predicate = selection.trim();
+        if (predicate.equalsIgnoreCase("done") || predicate.equalsIgnoreCase("undone")) {
+            boolean isDone = predicate.equalsIgnoreCase("done");
+            List<Integer> selected = new ArrayList<>();
+            int i = 0;
+            for (Task t : taskList) {
+                if (t.isCompleted() == isDone) {
+                    selected.add(i);
+                }
+                i++;
+            }
+            return selected.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return Catalogue.super.parseSelection(selection, notSelection, INVALID_NUMBER);
     }
 
     /**
@@ -89,13 +270,34 @@ public class TaskList implements Catalogue {
             throw new InvalidCommandException("No task to be " + (mark ? "marked" : "unmarked"));
         }
 
-        try {
-            return updateTaskLabel(number, mark);
-        } catch (NumberFormatException e) {
-            throw new InvalidCommandException("eg. task mark 1\neg. task unmark 1");
-        } catch (IndexOutOfBoundsException e) {
-            throw new InvalidCommandException("Invalid task number.");
+        return updateTaskLabel(number, mark);
+    }
+
+    /**
+     * Labels every task selected in a single pass, skipping the tasks that already have the label.
+     *
+     * @param selection The task numbers and ranges, such as "1-500" or "3,7,9-20", or "done" or "undone".
+     * @param mark      <code>true</code> if command is mark. <code>false</code> if command is unmark.
+     * @return The tasks that are labelled, in the order of the taskList.
+     * @throws InvalidCommandException If no task to be labelled or the selection is invalid.
+     */
+    @Override
+    public List<Task> labelItems(String selection, boolean mark) throws InvalidCommandException {
+        if (taskList.isEmpty()) {
+            throw new InvalidCommandException("No task to be " + (mark ? "marked" : "unmarked"));
+        }
+
+        List<Task> labelled = new ArrayList<>();
+        for (int index : selectTasks(selection, LABEL_SELECTION_FORMAT)) {
+            Task t = taskList.get(index);
+            if (t.isCompleted() == mark) {
+                continue;
+            }
+
+            setLabel(index, t, mark);
+            labelled.add(t);
         }
+        return labelled;
     }
 
     /**
@@ -103,86 +305,124 @@ public class TaskList implements Catalogue {
      *
      * @param task The task description.
      * @param type The task type.
-     * @return The <code>Task</code> created.
-     * @throws InvalidCommandException If task description is in wrong format.
+     * @return The <code>Task</code> created, or the reason that the task description is in wrong format.
      */
-    private Task createTask(String task, String type) throws InvalidCommandException {
-        switch (TaskType.valueOf(type.toUpperCase())) {
+    private Result<Task> createTask(String task, TaskType type) {
+        switch (type) {
         case TODO -> {
-            return new Todo(task);
+            return Result.of(new Todo(task));
         }
         case DEADLINE -> {
-            try {
-                String[] data = task.split("/by");
-                LocalDateTime dateTime = Catalogue.super.parseDateTime(data[1].trim());
-
-                if (dateTime.isBefore(LocalDateTime.now())) {
-                    throw new InvalidCommandException("The deadline cannot be in the past.");
-                }
+            String[] data = task.split("/by");
+            if (data.length < 2) {
+                return Result.error("eg. task deadline return book /by 23-08-2025 1800");
+            }
 
-                return new Deadline(data[0].trim(), dateTime);
-            } catch (IndexOutOfBoundsException e) {
-                throw new InvalidCommandException("eg. task deadline return book /by 23-08-2025 1800");
+            Result<LocalDateTime> dateTime = Catalogue.super.parseDateTime(data[1].trim());
+            if (!dateTime.isValid()) {
+                return Result.error(dateTime.getError());
+            }
+            if (dateTime.getValue().isBefore(LocalDateTime.now())) {
+                return Result.error("The deadline cannot be in the past.");
             }
+
+            return Result.of(new Deadline(data[0].trim(), dateTime.getValue()));
         }
         case EVENT -> {
-            try {
-                String[] data = task.split("/from");
-                String[] timing = data[1].trim().split("/to");
-                LocalDateTime startDateTime = Catalogue.super.parseDateTime(timing[0].trim());
-                LocalDateTime endDateTime = Catalogue.super.parseDateTime(timing[1].trim());
-
-                if (startDateTime.isBefore(LocalDateTime.now())
-                        || endDateTime.isBefore(LocalDateTime.now())) {
-                    throw new InvalidCommandException("The event cannot be in the past.");
-                }
+            String[] data = task.split("/from");
+            String[] timing = data.length < 2 ? data : data[1].trim().split("/to");
+            if (timing.length < 2) {
+                return Result.error("eg. task event project meeting /from 23-08-2025 1400 /to 23-08-2025 1600");
+            }
 
-                if (endDateTime.isBefore(startDateTime) || endDateTime.isEqual(startDateTime)) {
-                    throw new InvalidCommandException("The event cannot end before it starts.");
-                }
+            Result<LocalDateTime> start = Catalogue.super.parseDateTime(timing[0].trim());
+            Result<LocalDateTime> end = Catalogue.super.parseDateTime(timing[1].trim());
+            if (!start.isValid() || !end.isValid()) {
+                return Result.error(start.isValid() ? end.getError() : start.getError());
+            }
+
+            LocalDateTime startDateTime = start.getValue();
+            LocalDateTime endDateTime = end.getValue();
+            if (startDateTime.isBefore(LocalDateTime.now())
+                    || endDateTime.isBefore(LocalDateTime.now())) {
+                return Result.error("The event cannot be in the past.");
+            }
 
-                return new Event(data[0].trim(), startDateTime, endDateTime);
-            } catch (IndexOutOfBoundsException e) {
-                throw new InvalidCommandException("eg. task event project meeting "
-                        + "/from 23-08-2025 1400 /to 23-08-2025 1600");
+            if (endDateTime.isBefore(startDateTime) || endDateTime.isEqual(startDateTime)) {
+                return Result.error("The event cannot end before it starts.");
             }
+
+            return Result.of(new Event(data[0].trim(), startDateTime, endDateTime));
+        }
+        default -> {
+            return Result.error("No such task.");
         }
-        default -> throw new InvalidCommandException("No such task.");
         }
     }
 
+    /**
+     * Finds the type of <code>Task</code> of the name, ignoring case, without throwing like
+     * <code>TaskType.valueOf</code>.
+     *
+     * @return The type of task, or <code>null</code> if there is none of the name.
+     */
+    private static TaskType toTaskType(String name) {
+        for (TaskType type : TaskType.values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
     /**
      * Adds the new <code>Task</code> into the taskList.
-     * <p>
-     * If dateTime is of wrong format, <code>DateTimeParseException</code> is thrown.
      *
      * @param task The task description.
      * @param type The type of task.
      * @return The new <code>Task</code> that is added.
-     * @throws InvalidCommandException If there is missing information in the task description.
+     * @throws InvalidCommandException If there is missing information in the task description, or its
+     *                                 dateTime is of wrong format.
      */
     @Override
     public Task addItem(String task, String type) throws InvalidCommandException {
-        try {
-            if (task == null || task.trim().isEmpty()) {
-                throw new InvalidCommandException("The description of a task cannot be empty.");
-            }
+        if (task == null || task.trim().isEmpty()) {
+            throw new InvalidCommandException("The description of a task cannot be empty.");
+        }
 
-            if (type == null || type.trim().isEmpty()) {
-                throw new InvalidCommandException("The type of a task cannot be empty.");
-            }
+        if (type == null || type.trim().isEmpty()) {
+            throw new InvalidCommandException("The type of a task cannot be empty.");
+        }
 
-            Task t = createTask(task.trim(), type.trim());
+        TaskType taskType = toTaskType(type.trim());
+        if (taskType == null) {
+            throw new InvalidCommandException("\"" + task + "\"");
+        }
 
-            if (taskList.stream().anyMatch(existingTask -> existingTask.equals(t))) {
-                throw new InvalidCommandException("This task already exists.");
-            }
+        Result<Task> created = createTask(task.trim(), taskType);
+        if (!created.isValid()) {
+            throw new InvalidCommandException(created.getError());
+        }
 
-            taskList.add(t);
-            return t;
-        } catch (IllegalArgumentException e) {
-            throw new InvalidCommandException("\"" + task + "\"");
+        Task t = created.getValue();
+
+        if (columns == null ? duplicates.contains(t) : columns.containsEqual(t)) {
+            throw new InvalidCommandException("This task already exists.");
+        }
+
+        taskList.add(t);
+        if (columns == null) {
+            duplicates.add(t);
+            periods.add(t);
+            search.add(t);
+            dues.add(t);
+            if (t.isCompleted()) {
+                completed.add(t);
+            }
         }
+        results.invalidate(t);
+        changes.add(new Change(Change.Type.ADD, t));
+        return t;
     }
 
     /**
@@ -198,63 +438,273 @@ public class TaskList implements Catalogue {
             throw new InvalidCommandException("No task to delete.");
         }
 
-        try {
-            return taskList.remove(Integer.parseInt(number) - 1);
-        } catch (NumberFormatException e) {
-            throw new InvalidCommandException("eg. task delete 1");
-        } catch (IndexOutOfBoundsException e) {
-            throw new InvalidCommandException("Invalid task number.");
+        return removeTask(Catalogue.super.parseIndex(number, DELETE_FORMAT, INVALID_NUMBER));
+    }
+
+    /**
+     * Removes the <code>Task</code> at the index from the taskList and its indexes.
+     */
+    private Task removeTask(int index) {
+        Task t = taskList.remove(index);
+        if (columns == null) {
+            duplicates.remove(t);
+            periods.remove(t);
+            search.remove(t);
+            dues.remove(t);
+            completed.remove(t);
+        }
+        results.invalidate(t);
+        changes.add(new Change(Change.Type.DELETE, t));
+        return t;
+    }
+
+    /**
+     * Deletes every task selected in a single pass, from the last so that the positions of the tasks before
+     * it do not change.
+     *
+     * @param selection The task numbers and ranges, such as "1-500" or "3,7,9-20", or "done" or "undone".
+     * @return The deleted tasks, in the order of the taskList.
+     * @throws InvalidCommandException If taskList is empty or the selection is invalid.
+     */
+    @Override
+    public List<Task> deleteItems(String selection) throws InvalidCommandException {
+        if (taskList.isEmpty()) {
+            throw new InvalidCommandException("No task to delete.");
+        }
+
+        int[] selected = selectTasks(selection, DELETE_SELECTION_FORMAT);
+        List<Task> deleted = new ArrayList<>();
+        for (int i = selected.length - 1; i >= 0; i--) {
+            deleted.add(removeTask(selected[i]));
         }
+        Collections.reverse(deleted);
+        return deleted;
     }
 
     /**
-     * Finds all <code>Task</code> in the taskList by the keyword in the task name.
+     * Finds all <code>Task</code> in the taskList by the keyword in the task name, or returns the cached
+     * result if the keyword was found before. The keyword is trimmed, and is case-sensitive.
      *
      * @param desc The keyword to find by.
      * @return A <code>String</code> representation of the filtered taskList.
      */
     @Override
     public String findItems(String desc) {
-        ArrayList<Task> newTask = taskList.stream()
-                .filter(t -> t.getName().contains(desc))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return Catalogue.super.showList(null, newTask);
+        String keyword = desc.trim();
+        String key = "find:" + keyword;
+        String cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ArrayList<Task> newTask = new ArrayList<>(columns == null
+                ? search.find(keyword)
+                : columns.findByName(keyword));
+        return results.put(key, t -> t.getName().contains(keyword), Catalogue.super.showList(null, newTask));
     }
 
     /**
-     * Checks if the <code>Task</code> is currently ongoing base on the dateTime given.
+     * Ranks the tasks by how well they match the query. A columnar taskList keeps no index, so its tasks
+     * are ranked by a single scan of their names, which takes time linear in the number of tasks.
      *
-     * @param t        The task of interest.
-     * @param dateTime The dateTime of interest.
-     * @return <code>true</code> if it is ongoing, <code>false</code> otherwise.
+     * @param query The query of one or more keywords.
+     * @return A <code>String</code> representation of the best tasks, from the best match.
      */
-    private boolean happeningNow(Task t, LocalDateTime dateTime) {
+    @Override
+    public String searchItems(String query) {
+        if (columns == null) {
+            return Catalogue.super.searchItems(query);
+        }
+
+        List<Task> ranked = SearchIndex.rank(columns.names(), query, MAX_SEARCH_RESULTS).stream()
+                .map(columns::get)
+                .toList();
+        return Catalogue.super.createStringList(" matching \"" + query + "\"", ranked);
+    }
+
+    /**
+     * Returns the start of the period that the <code>Task</code> happens over. A <code>Deadline</code> has
+     * no start, as it is ongoing until it is due.
+     */
+    private static LocalDateTime getStartDate(Task t) {
+        return t instanceof Event temp ? temp.getStartDate() : null;
+    }
+
+    /**
+     * Returns the end of the period that the <code>Task</code> happens over, or <code>null</code> if it is a
+     * <code>Todo</code>, which does not happen over any period.
+     */
+    private static LocalDateTime getEndDate(Task t) {
         if (t instanceof Deadline temp) {
-            return dateTime.isBefore(temp.getDueDate());
+            return temp.getDueDate();
         } else if (t instanceof Event temp) {
-            boolean isAfterStartDate = dateTime.isAfter(temp.getStartDate());
-            boolean isBeforeEndDate = dateTime.isBefore(temp.getEndDate());
-            return isAfterStartDate && isBeforeEndDate;
+            return temp.getEndDate();
         } else {
-            return false;
+            return null;
         }
     }
 
     /**
-     * Filters the taskList for tasks happening on the specific dateTime.
-     * <p>
-     * If the dateTime is of wrong format, it throws a <code>DateTimeParseException</code>.
+     * Returns the day that the <code>Task</code> is due or ends, or <code>null</code> if it is a
+     * <code>Todo</code>.
+     */
+    private static LocalDate getDueDay(Task t) {
+        LocalDateTime end = getEndDate(t);
+        return end == null ? null : end.toLocalDate();
+    }
+
+    /**
+     * Checks if the <code>Task</code> may happen at any time within the range, which includes every task
+     * that does, so that the cached results of the range are removed when such a task changes.
+     */
+    private static boolean mayOverlap(Task t, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = getStartDate(t);
+        LocalDateTime end = getEndDate(t);
+        return end != null && !end.isBefore(from) && (start == null || !start.isAfter(to));
+    }
+
+    /**
+     * Finds every task that happens at any time within the range, through the index of periods or by
+     * scanning the columns.
+     */
+    private List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return columns == null ? periods.findOverlapping(from, to) : columns.findOverlapping(from, to);
+    }
+
+    /**
+     * Parses the dateTime of a filter.
      *
-     * @param dt The dateTime to filter by.
+     * @throws InvalidCommandException If the dateTime is of wrong format.
+     */
+    private LocalDateTime toDateTime(String dateTime) throws InvalidCommandException {
+        Result<LocalDateTime> parsed = Catalogue.super.parseDateTime(dateTime);
+        if (!parsed.isValid()) {
+            throw new InvalidCommandException(parsed.getError());
+        }
+        return parsed.getValue();
+    }
+
+    /**
+     * Filters the taskList for tasks happening on the specific dateTime, or at any time within the range of
+     * the format "dateTime /to dateTime", or returns the cached result if it was filtered before. The result
+     * is cached by the parsed dateTimes, so the same dateTimes written with other spacing share it.
+     *
+     * @param dt The dateTime or range to filter by.
      * @return A <code>String</code> representation of the filtered taskList.
+     * @throws InvalidCommandException If a dateTime is of wrong format, or the range ends before it starts.
      */
     @Override
-    public String filterItems(String dt) {
-        LocalDateTime dateTime = Catalogue.super.parseDateTime(dt);
-        ArrayList<Task> newTask = taskList.stream()
-                .filter(t -> happeningNow(t, dateTime))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return Catalogue.super.showList(dateTime, newTask);
+    public String filterItems(String dt) throws InvalidCommandException {
+        String[] range = dt.split("/to", 2);
+        if (range.length == 2) {
+            LocalDateTime from = toDateTime(range[0].trim());
+            LocalDateTime to = toDateTime(range[1].trim());
+            if (to.isBefore(from)) {
+                throw new InvalidCommandException("The range cannot end before it starts.");
+            }
+
+            String key = "filter:" + from + "/" + to;
+            String cached = results.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            ArrayList<Task> newTask = new ArrayList<>(findOverlapping(from, to));
+            return results.put(key, t -> mayOverlap(t, from, to),
+                    Catalogue.super.createStringList(getRangeString(from, to), newTask));
+        }
+
+        LocalDateTime dateTime = toDateTime(dt.trim());
+        String key = "filter:" + dateTime;
+        String cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ArrayList<Task> newTask = new ArrayList<>(findOverlapping(dateTime, dateTime));
+        return results.put(key, t -> mayOverlap(t, dateTime, dateTime),
+                Catalogue.super.showList(dateTime, newTask));
+    }
+
+    /**
+     * Returns the completed tasks from the index of their status, which must hold exactly the tasks that are
+     * completed.
+     */
+    private List<Task> getCompleted() {
+        assert completed.size() == taskList.stream().filter(Task::isCompleted).count()
+                : "tasks should only be marked or unmarked through the taskList";
+        return new ArrayList<>(completed);
+    }
+
+    /**
+     * Compiles a clause of a query on the tasks, with the index that finds its tasks unless the taskList is
+     * columnar.
+     */
+    private Query.Clause<Task> compileClause(String field, char operator, String value)
+            throws InvalidCommandException {
+        switch (field) {
+        case "type" -> {
+            TaskType type = toTaskType(value);
+            if (type == null) {
+                throw new InvalidCommandException("No such task type \"" + value + "\".");
+            }
+            if (operator != '=') {
+                throw new InvalidCommandException("\"type\" can only be compared with =.");
+            }
+            return new Query.Clause<>(field, t -> getType(t) == type);
+        }
+        case "done" -> {
+            if (operator != '=' || !(value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))) {
+                throw new InvalidCommandException("eg. done=true\neg. done=false");
+            }
+            boolean isDone = value.equalsIgnoreCase("true");
+            return completed != null && isDone
+                    ? new Query.Clause<>(field, Task::isCompleted, completed::size, this::getCompleted)
+                    : new Query.Clause<>(field, t -> t.isCompleted() == isDone);
+        }
+        case "due" -> {
+            return Query.dateClause(field, operator, parseDate(value), TaskList::getDueDay, dues);
+        }
+        case "name" -> {
+            return Query.textClause(field, operator, value, Task::getName, search);
+        }
+        default -> throw new InvalidCommandException("No such field \"" + field + "\".\n"
+                + "eg. task query type=deadline done=false due<01-12-2025 name~report");
+        }
+    }
+
+    /**
+     * Returns the type of the <code>Task</code>.
+     */
+    private static TaskType getType(Task t) {
+        if (t instanceof Deadline) {
+            return TaskType.DEADLINE;
+        } else if (t instanceof Event) {
+            return TaskType.EVENT;
+        } else {
+            return TaskType.TODO;
+        }
+    }
+
+    /**
+     * Finds every task that matches every clause of the query, through the index of the clause that finds
+     * the fewest tasks, or by scanning the taskList. The result is cached by the trimmed query.
+     *
+     * @param query The clauses of the query, such as "type=deadline done=false due&lt;01-12-2025 name~report".
+     * @return A <code>String</code> representation of the tasks that match the query.
+     * @throws InvalidCommandException If a clause of the query is invalid.
+     */
+    @Override
+    public String queryItems(String query) throws InvalidCommandException {
+        String cached = results.get("query:" + query.trim());
+        if (cached != null) {
+            return cached;
+        }
+
+        Query<Task> compiled = Query.compile(query, this::compileClause);
+        // A columnar taskList has no index, so its tasks are always scanned in order and never sorted
+        Comparator<Task> order = columns == null ? Comparator.comparingInt(search::sequenceOf) : (a, b) -> 0;
+        ArrayList<Task> newTask = new ArrayList<>(compiled.run(taskList, order));
+        return results.put("query:" + query.trim(), compiled::matches,
+                Catalogue.super.createStringList(" matching \"" + query.trim() + "\"", newTask));
     }
 
     /**
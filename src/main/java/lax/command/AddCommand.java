@@ -56,7 +56,7 @@ public class AddCommand extends Command {
         Item item = catalogue.addItem(description, type);
         assert item != null : "item should not be null";
 
-        storage.saveTask(catalogue);
+        storage.saveChanges(catalogue);
         return ui.showSuccessMessage(print(item, catalogue));
     }
 
@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import lax.catalogue.Catalogue;
 import lax.exception.InvalidCommandException;
+import lax.exception.Result;
 import lax.storage.Storage;
 import lax.ui.Ui;
 
@@ -14,7 +15,9 @@ public abstract class Command {
     /**
      * Types of commands that can be executed.
      */
-    public enum CommandType { ADD, DELETE, LABEL, LIST, FIND, FILTER, HELP, BYE, INVALID, START, EMPTY }
+    public enum CommandType {
+        ADD, DELETE, LABEL, LIST, FIND, SEARCH, FILTER, QUERY, RUN, STATS, HELP, BYE, INVALID, START, EMPTY
+    }
 
     /**
      * Indicates if the command is for the notesList.
@@ -29,6 +32,15 @@ public abstract class Command {
         isNoteCommand = noteCommand;
     }
 
+    /**
+     * Checks if the item numbers select more than a single item, which is a list or range of numbers such as
+     * "3,7,9-20", or "done" or "undone".
+     */
+    protected static boolean isSelection(String numbers) {
+        String n = numbers.trim();
+        return n.contains(",") || n.contains("-") || n.equalsIgnoreCase("done") || n.equalsIgnoreCase("undone");
+    }
+
     /**
      * Returns the type of command.
      */
@@ -38,4 +50,18 @@ public abstract class Command {
      * Executes the given command.
      */
     public abstract String execute(Catalogue t, Ui u, Storage s) throws InvalidCommandException, IOException;
+
+    /**
+     * Executes the given command, and returns the reply, or the reason that the command is invalid as the
+     * error of the result instead of throwing it.
+     *
+     * @throws IOException If the changes could not be saved.
+     */
+    public Result<String> run(Catalogue t, Ui u, Storage s) throws IOException {
+        try {
+            return Result.of(execute(t, u, s));
+        } catch (InvalidCommandException e) {
+            return Result.error(e.getDetail());
+        }
+    }
 }
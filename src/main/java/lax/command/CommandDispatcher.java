@@ -0,0 +1,300 @@
+package lax.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lax.command.Parser.NoteCommandList;
+import lax.command.Parser.Prefix;
+import lax.command.Parser.TaskCommandList;
+import lax.exception.Result;
+
+/**
+ * Represents the dispatcher of user inputs into their commands in a single pass over the input.
+ * <p>
+ * The keywords of <code>Prefix</code>, <code>TaskCommandList</code> and <code>NoteCommandList</code> are
+ * compiled once into tries, which are walked a character at a time, ignoring case, instead of splitting the
+ * input and looking the keywords up through <code>Enum.valueOf</code>. An invalid input is reported as a
+ * <code>Result</code> with the message of the invalid command, instead of throwing and catching exceptions.
+ */
+public class CommandDispatcher {
+    /**
+     * The trie of the prefixes.
+     */
+    private static final Node<Prefix> PREFIXES = compile(Prefix.values());
+
+    /**
+     * The trie of the task commands.
+     */
+    private static final Node<TaskCommandList> TASK_COMMANDS = compile(TaskCommandList.values());
+
+    /**
+     * The trie of the note commands.
+     */
+    private static final Node<NoteCommandList> NOTE_COMMANDS = compile(NoteCommandList.values());
+
+    /**
+     * The result of an empty input, which is created once.
+     */
+    private static final Result<Command> EMPTY = Result.error("Empty command");
+
+    /**
+     * Represents a node of a trie of keywords, which are made of letters only.
+     *
+     * @param <E> The type of keyword.
+     */
+    private static class Node<E extends Enum<E>> {
+        /**
+         * The nodes after every letter, from "a" to "z".
+         */
+        private final List<Node<E>> next = new ArrayList<>(Collections.nCopies(26, null));
+
+        /**
+         * The keyword that ends at this node, or <code>null</code> if none does.
+         */
+        private E keyword;
+    }
+
+    /**
+     * Compiles the names of the keywords into a trie.
+     */
+    private static <E extends Enum<E>> Node<E> compile(E[] keywords) {
+        Node<E> root = new Node<>();
+        for (E keyword : keywords) {
+            Node<E> node = root;
+            for (char c : keyword.name().toLowerCase().toCharArray()) {
+                if (node.next.get(c - 'a') == null) {
+                    node.next.set(c - 'a', new Node<>());
+                }
+                node = node.next.get(c - 'a');
+            }
+            node.keyword = keyword;
+        }
+        return root;
+    }
+
+    /**
+     * Walks the trie over the characters between the positions, ignoring case.
+     *
+     * @return The keyword of the characters, or <code>null</code> if they are not a keyword.
+     */
+    private static <E extends Enum<E>> E lookUp(Node<E> root, String input, int from, int to) {
+        Node<E> node = root;
+        for (int i = from; i < to && node != null; i++) {
+            char c = input.charAt(i);
+            int letter = (c | 0x20) - 'a';
+            node = letter >= 0 && letter < 26 ? node.next.get(letter) : null;
+        }
+        return node == null ? null : node.keyword;
+    }
+
+    /**
+     * Returns the position after the characters that <code>String.trim</code> removes from the end of the
+     * characters between the positions.
+     */
+    private static int trimEnd(String input, int from, int to) {
+        int end = to;
+        while (end > from && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the position of the first character from the position that <code>String.trim</code> keeps.
+     */
+    private static int trimStart(String input, int from, int to) {
+        int start = from;
+        while (start < to && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the position of the first space from the position, or the end if there is none.
+     */
+    private static int nextSpace(String input, int from, int to) {
+        int space = input.indexOf(' ', from);
+        return space < 0 || space > to ? to : space;
+    }
+
+    /**
+     * Dispatches the input into its command.
+     *
+     * @param input The input of the user.
+     * @return The command of the input, or the error if it is invalid.
+     */
+    public static Result<Command> dispatch(String input) {
+        if (input == null) {
+            return EMPTY;
+        }
+
+        int end = trimEnd(input, 0, input.length());
+        int start = trimStart(input, 0, end);
+        if (start == end) {
+            return EMPTY;
+        }
+
+        int space = nextSpace(input, start, end);
+        Prefix prefix = lookUp(PREFIXES, input, start, trimEnd(input, start, space));
+        int rest = trimStart(input, space, end);
+        boolean hasDetails = space < end;
+        boolean needsDetails = prefix != Prefix.HELP && prefix != Prefix.BYE;
+        if (prefix == null || (prefix != Prefix.STATS && hasDetails != needsDetails)) {
+            return Result.error("\"" + input + "\"");
+        }
+
+        switch (prefix) {
+        case TASK -> {
+            return dispatchTask(input, rest, end);
+        }
+        case NOTE -> {
+            Result<Command> result = dispatchNote(input, rest, end);
+            if (result.isValid()) {
+                result.getValue().setNoteCommand(true);
+            }
+            return result;
+        }
+        case RUN -> {
+            return Result.of(new RunCommand(input.substring(rest, end)));
+        }
+        case STATS -> {
+            return Result.of(new StatsCommand(hasDetails ? input.substring(rest, end) : null));
+        }
+        case HELP -> {
+            return Result.of(new HelpCommand());
+        }
+        default -> {
+            return Result.of(new ExitCommand());
+        }
+        }
+    }
+
+    /**
+     * Dispatches every command that the input pipelines, before any of them is executed. The commands are
+     * separated by ";", such as "task todo a; task todo b; task mark 1". A ";" only separates two commands
+     * if the rest of the input up to the next separator is a valid command on its own, so that it can still be
+     * written within the details of a command, such as "note add call mom; bye for now".
+     * <p>
+     * The input is walked from its end, so that every command after a ";" is dispatched once and its result
+     * is kept.
+     *
+     * @param input The input of the user.
+     * @return The commands of the input in order, or their errors if they are invalid.
+     */
+    public static List<Result<Command>> dispatchAll(String input) {
+        if (input == null || input.indexOf(';') < 0) {
+            return Collections.singletonList(dispatch(input));
+        }
+
+        List<Result<Command>> results = new ArrayList<>();
+        int end = input.length();
+        for (int i = input.lastIndexOf(';'); i >= 0; i = input.lastIndexOf(';', i - 1)) {
+            Result<Command> result = dispatch(input.substring(i + 1, end));
+            if (result.isValid()) {
+                results.add(result);
+                end = i;
+            }
+        }
+        results.add(dispatch(input.substring(0, end)));
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Dispatches the task command between the positions of the input.
+     */
+    private static Result<Command> dispatchTask(String input, int from, int to) {
+        int space = nextSpace(input, from, to);
+        int keywordEnd = trimEnd(input, from, space);
+        TaskCommandList type = lookUp(TASK_COMMANDS, input, from, keywordEnd);
+        String details = space < to ? input.substring(trimStart(input, space, to), to) : null;
+        Command command = null;
+        if (type == TaskCommandList.LIST) {
+            command = details == null ? new ListCommand() : parsePage(details);
+        } else if (type != null && details != null) {
+            String keyword = input.substring(from, keywordEnd);
+            command = switch (type) {
+            case MARK, UNMARK -> new LabelCommand(details, keyword);
+            case TODO, DEADLINE, EVENT -> new AddCommand(details, keyword);
+            case DELETE -> new DeleteCommand(details);
+            case FIND -> new FindCommand(details);
+            case SEARCH -> new SearchCommand(details);
+            case FILTER -> new FilterCommand(details);
+            case QUERY -> new QueryCommand(details);
+            default -> null;
+            };
+        }
+        return command == null ? Result.error("\"task " + input.substring(from, to) + "\"") : Result.of(command);
+    }
+
+    /**
+     * Dispatches the note command between the positions of the input.
+     */
+    private static Result<Command> dispatchNote(String input, int from, int to) {
+        int space = nextSpace(input, from, to);
+        NoteCommandList type = lookUp(NOTE_COMMANDS, input, from, trimEnd(input, from, space));
+        String details = space < to ? input.substring(trimStart(input, space, to), to) : null;
+        Command command = null;
+        if (type == NoteCommandList.LIST) {
+            command = details == null ? new ListCommand() : parsePage(details);
+        } else if (type != null && details != null) {
+            command = switch (type) {
+            case ADD -> new AddCommand(details, "note");
+            case DELETE -> new DeleteCommand(details);
+            case FIND -> new FindCommand(details);
+            case SEARCH -> new SearchCommand(details);
+            case FILTER -> new FilterCommand(details);
+            case QUERY -> new QueryCommand(details);
+            default -> null;
+            };
+        }
+        return command == null ? Result.error("\"note " + input.substring(from, to) + "\"") : Result.of(command);
+    }
+
+    /**
+     * Checks if the character is matched by "\s" in a regular expression.
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Parses the details of a list command of the format "page number".
+     *
+     * @return The <code>ListCommand</code> of the page, or <code>null</code> if the details are not of the
+     *         format or the page number is not an integer.
+     */
+    private static Command parsePage(String details) {
+        int i = 4;
+        if (!details.regionMatches(true, 0, "page", 0, i) || i >= details.length() || !isSpace(details.charAt(i))) {
+            return null;
+        }
+        while (i < details.length() && isSpace(details.charAt(i))) {
+            i++;
+        }
+
+        boolean isNegative = i < details.length() && details.charAt(i) == '-';
+        if (i < details.length() && (details.charAt(i) == '-' || details.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == details.length()) {
+            return null;
+        }
+
+        long page = 0;
+        for (; i < details.length(); i++) {
+            char c = details.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            page = page * 10 + (c - '0');
+            if (page > (long) Integer.MAX_VALUE + 1) {
+                return null;
+            }
+        }
+        page = isNegative ? -page : page;
+        return page > Integer.MAX_VALUE ? null : new ListCommand((int) page);
+    }
+}
@@ -1,6 +1,7 @@
 package lax.command;
 
 import java.io.IOException;
+import java.util.List;
 
 import lax.catalogue.Catalogue;
 import lax.exception.InvalidCommandException;
@@ -13,7 +14,7 @@ import lax.ui.Ui;
  */
 public class DeleteCommand extends Command {
     /**
-     * The item number to be deleted.
+     * The item number to be deleted, or a selection of item numbers.
      */
     private final String taskNumber;
 
@@ -38,16 +39,25 @@ public class DeleteCommand extends Command {
      * {@inheritDoc}
      * It deletes the <code>Item</code> from the <code>Catalogue</code> and saves the <code>Catalogue</code>
      * into the database. After successful execution, a success message is displayed to the user.
+     * <p>
+     * A selection of item numbers, such as "3,7,9-20", deletes every <code>Item</code> selected before the
+     * <code>Catalogue</code> is saved once.
      *
      * @throws InvalidCommandException If the user inputs an invalid command.
      * @throws IOException             If there is an error in writing to the database file.
      */
     @Override
     public String execute(Catalogue catalogue, Ui ui, Storage storage) throws InvalidCommandException, IOException {
+        if (isSelection(taskNumber)) {
+            List<? extends Item> items = catalogue.deleteItems(taskNumber);
+            storage.saveChanges(catalogue);
+            return ui.showSuccessMessage(print(items, catalogue));
+        }
+
         Item item = catalogue.deleteItem(taskNumber);
         assert item != null : "item should not be null";
 
-        storage.saveTask(catalogue);
+        storage.saveChanges(catalogue);
         return ui.showSuccessMessage(print(item, catalogue));
     }
 
@@ -58,4 +68,19 @@ public class DeleteCommand extends Command {
         return "Noted. I've removed this item:\n  " + item
                 + "\nNow you have " + catalogue.size() + " items in the list.";
     }
+
+    /**
+     * Prints the success message after a delete execution of a selection of items.
+     */
+    public String print(List<? extends Item> items, Catalogue catalogue) {
+        if (items.isEmpty()) {
+            return "There is no item to be removed.";
+        }
+
+        StringBuilder sb = new StringBuilder(items.size() == 1
+                ? "Noted. I've removed this item:"
+                : "Noted. I've removed these " + items.size() + " items:");
+        items.forEach(item -> sb.append("\n  ").append(item));
+        return sb.append("\nNow you have ").append(catalogue.size()).append(" items in the list.").toString();
+    }
 }
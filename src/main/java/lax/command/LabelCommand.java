@@ -1,6 +1,7 @@
 package lax.command;
 
 import java.io.IOException;
+import java.util.List;
 
 import lax.catalogue.Catalogue;
 import lax.exception.InvalidCommandException;
@@ -13,7 +14,7 @@ import lax.ui.Ui;
  */
 public class LabelCommand extends Command {
     /**
-     * The task number to be labeled.
+     * The task number to be labeled, or a selection of task numbers.
      */
     private final String taskNumber;
 
@@ -46,6 +47,9 @@ public class LabelCommand extends Command {
      * It labels the <code>Task</code> specified by the task number and saves the taskList into the database.
      * After a successful execution, a success message is displayed to the user.
      * <p>
+     * A selection of task numbers, such as "1-500", labels every <code>Task</code> selected before the
+     * taskList is saved once.
+     * <p>
      * Only <code>Task</code> can be labelled.
      *
      * @throws InvalidCommandException If the user inputs an invalid command or if a note is being labelled.
@@ -53,10 +57,16 @@ public class LabelCommand extends Command {
      */
     @Override
     public String execute(Catalogue catalogue, Ui ui, Storage storage) throws InvalidCommandException, IOException {
+        if (isSelection(taskNumber)) {
+            List<? extends Item> items = catalogue.labelItems(taskNumber, isMark);
+            storage.saveChanges(catalogue);
+            return ui.showSuccessMessage(print(items));
+        }
+
         Item item = catalogue.labelItem(taskNumber, isMark);
         assert item != null : "item should not be null";
 
-        storage.saveTask(catalogue);
+        storage.saveChanges(catalogue);
         return ui.showSuccessMessage(print(item));
     }
 
@@ -68,4 +78,20 @@ public class LabelCommand extends Command {
                 ? "Nice! I've marked this item as done:\n  "
                 : "OK, I've marked this item as not done yet:\n  ") + item;
     }
+
+    /**
+     * Prints the success message after a label execution of a selection of items.
+     */
+    public String print(List<? extends Item> items) {
+        if (items.isEmpty()) {
+            return "There is no item to be marked as " + (isMark ? "done." : "not done.");
+        }
+
+        String count = items.size() == 1 ? "this item" : "these " + items.size() + " items";
+        StringBuilder sb = new StringBuilder(isMark
+                ? "Nice! I've marked " + count + " as done:"
+                : "OK, I've marked " + count + " as not done yet:");
+        items.forEach(item -> sb.append("\n  ").append(item));
+        return sb.toString();
+    }
 }
@@ -1,6 +1,7 @@
 package lax.command;
 
 import lax.catalogue.Catalogue;
+import lax.exception.InvalidCommandException;
 import lax.storage.Storage;
 import lax.ui.Ui;
 
@@ -8,6 +9,27 @@ import lax.ui.Ui;
  * Represents a list command.
  */
 public class ListCommand extends Command {
+    /**
+     * The page of the list to be displayed.
+     */
+    private final int page;
+
+    /**
+     * Constructs a list command that displays the first page.
+     */
+    public ListCommand() {
+        this(1);
+    }
+
+    /**
+     * Constructs a list command that displays the page.
+     *
+     * @param p The page number, starting from 1.
+     */
+    public ListCommand(int p) {
+        page = p;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,10 +40,11 @@ public class ListCommand extends Command {
 
     /**
      * {@inheritDoc}
-     * It displays the full <code>Catalogue</code> to the user.
+     * It displays a page of the <code>Catalogue</code> to the user, which is the full <code>Catalogue</code>
+     * if it fits on a single page.
      */
     @Override
-    public String execute(Catalogue catalogue, Ui ui, Storage storage) {
-        return ui.showList(catalogue.showList());
+    public String execute(Catalogue catalogue, Ui ui, Storage storage) throws InvalidCommandException {
+        return ui.showList(catalogue.showPage(page));
     }
 }
@@ -0,0 +1,45 @@
+package lax.command;
+
+import lax.catalogue.Catalogue;
+import lax.exception.InvalidCommandException;
+import lax.storage.Storage;
+import lax.ui.Ui;
+
+/**
+ * Represents a query command with a <code>String</code> query of one or more clauses.
+ */
+public class QueryCommand extends Command {
+    /**
+     * The clauses that every item found must match.
+     */
+    private final String query;
+
+    /**
+     * Constructs a query command with the clauses.
+     *
+     * @param q The clauses of the query, separated by spaces.
+     */
+    public QueryCommand(String q) {
+        query = q;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.QUERY;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It finds every <code>Item</code> in the <code>Catalogue</code> that matches every clause of the query
+     * and displays them to the user.
+     *
+     * @throws InvalidCommandException If a clause of the query is invalid.
+     */
+    @Override
+    public String execute(Catalogue catalogue, Ui ui, Storage storage) throws InvalidCommandException {
+        return ui.showList(catalogue.queryItems(query.trim()));
+    }
+}
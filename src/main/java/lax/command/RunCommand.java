@@ -0,0 +1,74 @@
+package lax.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+
+import lax.catalogue.Catalogue;
+import lax.exception.InvalidCommandException;
+import lax.storage.Storage;
+import lax.ui.Ui;
+
+/**
+ * Represents a run command with a <code>String</code> path of a script, which is a file of commands with
+ * one command on every line.
+ * <p>
+ * A script changes both the tasks and the notes, so it is run by the chatbot instead of against a single
+ * <code>Catalogue</code>.
+ */
+public class RunCommand extends Command {
+    /**
+     * The path of the script.
+     */
+    private final String path;
+
+    /**
+     * Constructs the run command with the path of the script.
+     *
+     * @param p The path of the script.
+     */
+    public RunCommand(String p) {
+        path = p;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the commands of the script, skipping the lines that are blank.
+     *
+     * @return The commands in the order of the script.
+     * @throws IOException If the script could not be read.
+     */
+    public List<String> readScript() throws IOException {
+        try {
+            return Files.readAllLines(Path.of(path)).stream()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+        } catch (IOException | InvalidPathException e) {
+            throw new IOException("Script could not be read: " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.RUN;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A script cannot be run against a single <code>Catalogue</code>, so it is only run by the chatbot.
+     *
+     * @throws InvalidCommandException Always, as the script is run by the chatbot instead.
+     */
+    @Override
+    public String execute(Catalogue catalogue, Ui ui, Storage storage) throws InvalidCommandException {
+        throw new InvalidCommandException("A script can only be run by the chatbot.");
+    }
+}
@@ -0,0 +1,42 @@
+package lax.command;
+
+import lax.catalogue.Catalogue;
+import lax.storage.Storage;
+import lax.ui.Ui;
+
+/**
+ * Represents a ranked search command with <code>String</code> keywords.
+ */
+public class SearchCommand extends Command {
+    /**
+     * The keywords used to rank the items by.
+     */
+    private final String keywords;
+
+    /**
+     * Constructs a search command with the keywords.
+     *
+     * @param k The keywords to rank the items by.
+     */
+    public SearchCommand(String k) {
+        keywords = k;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.SEARCH;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It ranks every <code>Item</code> in the <code>Catalogue</code> by how well it matches the keywords,
+     * ignoring case, and displays the best matches to the user.
+     */
+    @Override
+    public String execute(Catalogue catalogue, Ui ui, Storage storage) {
+        return ui.showList(catalogue.searchItems(keywords.trim()));
+    }
+}
@@ -0,0 +1,60 @@
+package lax.command;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import lax.catalogue.Catalogue;
+import lax.stats.Stats;
+import lax.storage.Storage;
+import lax.ui.Ui;
+
+/**
+ * Represents a stats command with an optional <code>String</code> path of the file that the statistics are
+ * written into.
+ */
+public class StatsCommand extends Command {
+    /**
+     * The path of the file to write the statistics into, or <code>null</code> if they are only displayed.
+     */
+    private final String path;
+
+    /**
+     * Constructs the stats command.
+     *
+     * @param p The path of the file to write the statistics into, or <code>null</code>.
+     */
+    public StatsCommand(String p) {
+        path = p;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.STATS;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It displays the percentiles of the latencies of every type of command and the totals of the storages,
+     * and writes them into the file if there is one.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    @Override
+    public String execute(Catalogue catalogue, Ui ui, Storage storage) throws IOException {
+        String stats = Stats.summarise();
+        if (path == null) {
+            return ui.showStats(stats);
+        }
+
+        try {
+            Stats.dump(Path.of(path));
+        } catch (InvalidPathException e) {
+            throw new IOException(e.getMessage());
+        }
+        return ui.showStats(stats + "\n\nThe stats are saved to " + path + ".");
+    }
+}
@@ -2,12 +2,37 @@ package lax.exception;
 
 /**
  * Represents the <code>Exception</code> that occurs when an invalid command is keyed in by the user.
+ * <p>
+ * The exception does not record its stack trace, as it only carries the message that is replied to the
+ * user, so that it is cheap to create, and an exception of a message that never changes can be created
+ * once and thrown again. New code should report errors through a <code>Result</code> instead, and the
+ * exception is kept for the methods that throw it.
  */
 public class InvalidCommandException extends Exception {
+    /**
+     * The version of the serialized form of the exception.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The start of the message of every invalid command.
+     */
+    public static final String PREFIX = "Invalid command.\n";
+
+    /**
+     * The reason that the command is invalid, which is the message without its start.
+     */
+    private final String detail;
+
     /**
      * Constructs the <code>Exception</code> with a <code>String</code> message to be printed out.
      */
     public InvalidCommandException(String msg) {
-        super("Invalid command.\n" + msg);
+        super(PREFIX + msg, null, false, false);
+        detail = msg;
+    }
+
+    public String getDetail() {
+        return detail;
     }
 }
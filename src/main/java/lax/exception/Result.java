@@ -0,0 +1,68 @@
+package lax.exception;
+
+/**
+ * Represents the result of an operation that may fail, which is either its value or the reason that it
+ * failed, so that an invalid command is reported without creating and throwing an exception.
+ *
+ * @param <T> The type of value.
+ */
+public final class Result<T> {
+    /**
+     * The value of the result, or <code>null</code> if it failed.
+     */
+    private final T value;
+
+    /**
+     * The reason that it failed, or <code>null</code> if it succeeded.
+     */
+    private final String error;
+
+    /**
+     * Constructs the result of either the value or the error.
+     */
+    private Result(T v, String e) {
+        value = v;
+        error = e;
+    }
+
+    /**
+     * Creates the result of the value.
+     *
+     * @param value The value, which is not <code>null</code>.
+     */
+    public static <T> Result<T> of(T value) {
+        assert value != null : "the value of a result should not be null";
+        return new Result<>(value, null);
+    }
+
+    /**
+     * Creates the result that failed for the reason. A result of a reason that never changes can be created
+     * once and returned again.
+     *
+     * @param error The reason, which is the same as the message of its <code>InvalidCommandException</code>
+     *              without its start.
+     */
+    public static <T> Result<T> error(String error) {
+        return new Result<>(null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns the message of the error, which is the same as the message of the
+     * <code>InvalidCommandException</code> of the error.
+     */
+    public String getMessage() {
+        return InvalidCommandException.PREFIX + error;
+    }
+}
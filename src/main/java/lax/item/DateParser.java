@@ -0,0 +1,191 @@
+package lax.item;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the parser of the fixed formats of dates and dateTimes, which are the input formats
+ * "dd-MM-yyyy HHmm" and "dd-MM-yyyy", and the ISO formats of the database files.
+ * <p>
+ * The digits are read at their positions instead of through a <code>DateTimeFormatter</code>, and every
+ * field is checked to be within its range, so a date that does not exist, such as "31-02-2025", is
+ * invalid. An invalid date is reported by returning <code>null</code> instead of throwing an exception.
+ */
+public final class DateParser {
+    /**
+     * The value returned when the characters are not all digits.
+     */
+    private static final int INVALID = -1;
+
+    /**
+     * The number of characters of an input date, such as "26-08-2025".
+     */
+    private static final int INPUT_DATE_LENGTH = 10;
+
+    /**
+     * The number of characters of an input dateTime, such as "26-08-2025 1324".
+     */
+    private static final int INPUT_DATETIME_LENGTH = 15;
+
+    private DateParser() {
+    }
+
+    /**
+     * Reads the digits at the position as a number.
+     *
+     * @return The number, or <code>INVALID</code> if any of the characters is not a digit.
+     */
+    private static int digits(CharSequence text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of days in the month of the year.
+     */
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2 -> {
+            boolean isLeap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return isLeap ? 29 : 28;
+        }
+        case 4, 6, 9, 11 -> {
+            return 30;
+        }
+        default -> {
+            return 31;
+        }
+        }
+    }
+
+    /**
+     * Creates the date if the month and day are within their ranges.
+     *
+     * @return The date, or <code>null</code> if it does not exist.
+     */
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year == INVALID || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Creates the dateTime if the date exists and the time is within its range.
+     *
+     * @return The dateTime, or <code>null</code> if it does not exist.
+     */
+    private static LocalDateTime toDateTime(LocalDate date, int hour, int minute, int second) {
+        if (date == null || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return date.atTime(hour, minute, second);
+    }
+
+    /**
+     * Parses the date of the input format "dd-MM-yyyy" at the start of the text.
+     */
+    private static LocalDate parseInputDate(CharSequence text) {
+        if (text.charAt(2) != '-' || text.charAt(5) != '-') {
+            return null;
+        }
+
+        int year = digits(text, 6, 4);
+        return year == 0 ? null : toDate(year, digits(text, 3, 2), digits(text, 0, 2));
+    }
+
+    /**
+     * Parses the date of the input format "dd-MM-yyyy", such as "26-08-2025".
+     *
+     * @param text The date, without surrounding whitespaces.
+     * @return The date, or <code>null</code> if it is not of the format or does not exist.
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        return text.length() == INPUT_DATE_LENGTH ? parseInputDate(text) : null;
+    }
+
+    /**
+     * Parses the dateTime of the input format "dd-MM-yyyy HHmm", such as "26-08-2025 1324".
+     *
+     * @param text The dateTime, without surrounding whitespaces.
+     * @return The dateTime, or <code>null</code> if it is not of the format or does not exist.
+     */
+    public static LocalDateTime parseDateTime(CharSequence text) {
+        if (text.length() != INPUT_DATETIME_LENGTH || text.charAt(INPUT_DATE_LENGTH) != ' ') {
+            return null;
+        }
+        return toDateTime(parseInputDate(text), digits(text, 11, 2), digits(text, 13, 2), 0);
+    }
+
+    /**
+     * Finds the position of the first character of the dateTime that does not fit the input format
+     * "dd-MM-yyyy HHmm", which is where a <code>DateTimeFormatter</code> of the format stops parsing.
+     *
+     * @param text The dateTime that could not be parsed.
+     * @return The position, which is the length of the text if it ends early, or -1 if every character
+     *         fits and it is the values that are out of range.
+     */
+    public static int errorIndex(CharSequence text) {
+        for (int i = 0; i < INPUT_DATETIME_LENGTH; i++) {
+            if (i == text.length()) {
+                return i;
+            }
+
+            char c = text.charAt(i);
+            boolean fits = switch (i) {
+            case 2, 5 -> c == '-';
+            case INPUT_DATE_LENGTH -> c == ' ';
+            default -> c >= '0' && c <= '9';
+            };
+            if (!fits) {
+                return i;
+            }
+        }
+        return text.length() > INPUT_DATETIME_LENGTH ? INPUT_DATETIME_LENGTH : -1;
+    }
+
+    /**
+     * Parses the date of the ISO format "yyyy-MM-dd" between the positions of the text.
+     *
+     * @param text The text that contains the date.
+     * @param from The position of the first character of the date.
+     * @param to   The position after the last character of the date.
+     * @return The date, or <code>null</code> if it is not of the format or does not exist.
+     */
+    public static LocalDate parseIsoDate(CharSequence text, int from, int to) {
+        if (to - from != 10 || text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-') {
+            return null;
+        }
+        return toDate(digits(text, from, 4), digits(text, from + 5, 2), digits(text, from + 8, 2));
+    }
+
+    /**
+     * Parses the dateTime of the ISO format "yyyy-MM-ddTHH:mm" or "yyyy-MM-ddTHH:mm:ss" between the
+     * positions of the text.
+     *
+     * @param text The text that contains the dateTime.
+     * @param from The position of the first character of the dateTime.
+     * @param to   The position after the last character of the dateTime.
+     * @return The dateTime, or <code>null</code> if it is not of the format or does not exist.
+     */
+    public static LocalDateTime parseIsoDateTime(CharSequence text, int from, int to) {
+        int length = to - from;
+        if ((length != 16 && length != 19) || text.charAt(from + 10) != 'T' || text.charAt(from + 13) != ':') {
+            return null;
+        }
+
+        int second = 0;
+        if (length == 19) {
+            second = text.charAt(from + 16) == ':' ? digits(text, from + 17, 2) : INVALID;
+        }
+        return toDateTime(parseIsoDate(text, from, from + 10), digits(text, from + 11, 2),
+                digits(text, from + 14, 2), second);
+    }
+}
@@ -0,0 +1,113 @@
+package lax.item;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Represents the formats of the dates and dateTimes that the chatbot outputs, such as "Aug 26 2025 01:24pm".
+ * <p>
+ * The dates are written digit by digit into an array of characters instead of through a
+ * <code>DateTimeFormatter</code>, which writes "AM" and "PM" that then have to be replaced. A year that
+ * does not have four digits falls back to the <code>DateTimeFormatter</code>.
+ */
+public final class DisplayFormat {
+    /**
+     * The format of the dateTime that the chatbot outputs, for the years that do not have four digits.
+     */
+    private static final DateTimeFormatter OUTPUT_DATETIME_FORMAT =
+            DateTimeFormatter.ofPattern("MMM dd yyyy hh:mma", Locale.ENGLISH);
+
+    /**
+     * The format of the date that the chatbot outputs, for the years that do not have four digits.
+     */
+    private static final DateTimeFormatter OUTPUT_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
+
+    /**
+     * The short names of the months, from January.
+     */
+    private static final String[] MONTHS =
+            { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" };
+
+    /**
+     * The number of characters of a date, such as "Aug 26 2025".
+     */
+    private static final int DATE_LENGTH = 11;
+
+    /**
+     * The number of characters of a dateTime, such as "Aug 26 2025 01:24pm".
+     */
+    private static final int DATETIME_LENGTH = 19;
+
+    private DisplayFormat() {
+    }
+
+    /**
+     * Writes the two digits of the number at the position.
+     */
+    private static void writeTwoDigits(char[] chars, int position, int number) {
+        chars[position] = (char) ('0' + number / 10);
+        chars[position + 1] = (char) ('0' + number % 10);
+    }
+
+    /**
+     * Writes the date at the start of the characters, in the format "MMM dd yyyy".
+     */
+    private static void writeDate(char[] chars, LocalDate date) {
+        MONTHS[date.getMonthValue() - 1].getChars(0, 3, chars, 0);
+        chars[3] = ' ';
+        writeTwoDigits(chars, 4, date.getDayOfMonth());
+        chars[6] = ' ';
+        writeTwoDigits(chars, 7, date.getYear() / 100);
+        writeTwoDigits(chars, 9, date.getYear() % 100);
+    }
+
+    /**
+     * Checks if the year has four digits, which is the only year written without the
+     * <code>DateTimeFormatter</code>.
+     */
+    private static boolean hasFourDigits(int year) {
+        return year >= 1000 && year <= 9999;
+    }
+
+    /**
+     * Formats the dateTime into a string of the format "MMM dd yyyy hh:mma", with "am" and "pm" in lowercase.
+     *
+     * @return <li>The format is "MMM dd yyyy hh:mma".</li><li>Eg. "Aug 26 2025 12:32am".</li>
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        if (!hasFourDigits(dateTime.getYear())) {
+            return dateTime.format(OUTPUT_DATETIME_FORMAT)
+                    .replace("AM", "am")
+                    .replace("PM", "pm");
+        }
+
+        char[] chars = new char[DATETIME_LENGTH];
+        writeDate(chars, dateTime.toLocalDate());
+        int hour = dateTime.getHour();
+        chars[11] = ' ';
+        writeTwoDigits(chars, 12, hour % 12 == 0 ? 12 : hour % 12);
+        chars[14] = ':';
+        writeTwoDigits(chars, 15, dateTime.getMinute());
+        chars[17] = hour < 12 ? 'a' : 'p';
+        chars[18] = 'm';
+        return new String(chars);
+    }
+
+    /**
+     * Formats the date into a string of the format "MMM dd yyyy".
+     *
+     * @return <li>The format is "MMM dd yyyy".</li><li>Eg. "Aug 26 2025".</li>
+     */
+    public static String formatDate(LocalDate date) {
+        if (!hasFourDigits(date.getYear())) {
+            return date.format(OUTPUT_DATE_FORMAT);
+        }
+
+        char[] chars = new char[DATE_LENGTH];
+        writeDate(chars, date);
+        return new String(chars);
+    }
+}
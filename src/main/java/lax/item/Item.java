@@ -2,7 +2,23 @@ package lax.item;
 
 /**
  * Represents an item in the catalogue.
+ * <p>
+ * Every item in a catalogue has an id that stays the same while other items are added or removed, which is
+ * saved with the item and is how the journal refers to it. The number shown to the user is still its
+ * position in the catalogue.
  */
 public interface Item {
+    /**
+     * Returns the id of the item, or 0 if it has not been given one.
+     */
+    int getId();
+
+    /**
+     * Gives the item its id, which the list that holds the item does when the item is added.
+     *
+     * @param id The id of the item, which is positive.
+     */
+    void setId(int id);
+
     String toFile();
 }
@@ -1,22 +1,17 @@
 package lax.item.notes;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 
+import lax.item.DisplayFormat;
 import lax.item.Item;
 
 /**
  * Represents a <code>Note</code> with a <code>String</code> description and a <code>LocalDate</code>
  * date that it was recorded.
+ * <p>
+ * A note cannot be changed, so the strings for displaying and saving it are rendered once and cached.
  */
 public class Note implements Item {
-    /**
-     * The format of the date that the chatbot outputs.
-     */
-    private static final DateTimeFormatter OUTPUT_DATE_FORMAT =
-            DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
-
     /**
      * The description of the note.
      */
@@ -27,6 +22,21 @@ public class Note implements Item {
      */
     private final LocalDate date;
 
+    /**
+     * The id of the note in the notesList, or 0 if it is not in one yet.
+     */
+    private int id;
+
+    /**
+     * The cached string for displaying the note, or <code>null</code> if it is not rendered yet.
+     */
+    private String display;
+
+    /**
+     * The cached string for saving the note, or <code>null</code> if it is not rendered yet.
+     */
+    private String file;
+
     /**
      * Constructs the note with the description that the user wants to store, with the date being set
      * as the current date of execution.
@@ -54,7 +64,7 @@ public class Note implements Item {
      * @return <li>The format is "MMM dd yyyy".</li><li>Eg. "Aug 26 2025".</li>
      */
     public String parseDate(LocalDate date) {
-        return date.format(OUTPUT_DATE_FORMAT);
+        return DisplayFormat.formatDate(date);
     }
 
     public String getDescription() {
@@ -65,12 +75,31 @@ public class Note implements Item {
         return date;
     }
 
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gives the note its id, which clears the cached string for storing it in file.
+     */
+    @Override
+    public void setId(int i) {
+        id = i;
+        file = null;
+    }
+
     /**
-     * Converts the note into a <code>String</code> for storing in file.
+     * Converts the note into a <code>String</code> for storing in file, with its id first if it has one.
+     *
+     * @return <li>"id | date | description" if it has an id.</li><li>"date | description" otherwise.</li>
      */
     @Override
     public String toFile() {
-        return date + " | " + description;
+        if (file == null) {
+            file = (id == 0 ? "" : id + " | ") + date + " | " + description;
+        }
+        return file;
     }
 
     /**
@@ -80,6 +109,9 @@ public class Note implements Item {
      */
     @Override
     public String toString() {
-        return "[" + parseDate(date) + "] " + description;
+        if (display == null) {
+            display = "[" + parseDate(date) + "] " + description;
+        }
+        return display;
     }
 }
@@ -46,8 +46,8 @@ public class Deadline extends Task {
      *         <li>"deadline | 0 | name | 2025-08-26T13:24" if not completed.</li>
      */
     @Override
-    public String toFile() {
-        return "deadline | " + super.toFile() + " | " + dueDate;
+    protected String renderFile() {
+        return "deadline | " + super.renderFile() + " | " + dueDate;
     }
 
     /**
@@ -57,8 +57,8 @@ public class Deadline extends Task {
      *         <li>"[D][ ] name (by: Aug 26 2025 01:24pm)" if not completed.</li>
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + super.parseDateTime(dueDate) + ")";
+    protected String renderDisplay() {
+        return "[D]" + super.renderDisplay() + " (by: " + super.parseDateTime(dueDate) + ")";
     }
 
     /**
@@ -58,8 +58,8 @@ public class Event extends Task {
      *         <li>"event | 0 | name | 2025-08-26T13:24 | 2025-08-27T04:56" if not completed.</li>
      */
     @Override
-    public String toFile() {
-        return "event | " + super.toFile() + " | " + startDate + " | " + endDate;
+    protected String renderFile() {
+        return "event | " + super.renderFile() + " | " + startDate + " | " + endDate;
     }
 
     /**
@@ -69,8 +69,8 @@ public class Event extends Task {
      *         <li>"[E][ ] name (from: Aug 26 2025 01:24pm to: Aug 27 2025 04:56am)" if not completed.</li>
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString()
+    protected String renderDisplay() {
+        return "[E]" + super.renderDisplay()
                 + " (from: " + super.parseDateTime(startDate) + " to: " + super.parseDateTime(endDate) + ")";
     }
 
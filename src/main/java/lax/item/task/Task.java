@@ -1,21 +1,17 @@
 package lax.item.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 
+import lax.item.DisplayFormat;
 import lax.item.Item;
 
 /**
  * Represents a task with a <code>String</code> name and <code>boolean</code> completed.
+ * <p>
+ * The strings for displaying and saving the task are rendered once and cached, as only its completion
+ * status can change, which clears them.
  */
 public abstract class Task implements Item {
-    /**
-     * The format of the dateTime that the chatbot outputs.
-     */
-    private static final DateTimeFormatter OUTPUT_DATETIME_FORMAT =
-            DateTimeFormatter.ofPattern("MMM dd yyyy hh:mma", Locale.ENGLISH);
-
     /**
      * The name of the task which cannot be changed later.
      */
@@ -26,6 +22,21 @@ public abstract class Task implements Item {
      */
     private boolean isCompleted;
 
+    /**
+     * The id of the task in the taskList, or 0 if it is not in one yet.
+     */
+    private int id;
+
+    /**
+     * The cached string for displaying the task, or <code>null</code> if it is not rendered yet.
+     */
+    private String display;
+
+    /**
+     * The cached string for saving the task, or <code>null</code> if it is not rendered yet.
+     */
+    private String file;
+
     /**
      * Constructs the task with a name and its completion status. By default, all new <code>Task</code>
      * are not completed.
@@ -47,12 +58,36 @@ public abstract class Task implements Item {
         return isCompleted;
     }
 
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gives the task its id, which clears the cached string for saving the task.
+     */
+    @Override
+    public void setId(int i) {
+        id = i;
+        file = null;
+    }
+
+    /**
+     * Marks the task as completed, which clears the cached strings of the task.
+     */
     public void markTask() {
         isCompleted = true;
+        display = null;
+        file = null;
     }
 
+    /**
+     * Marks the task as not completed, which clears the cached strings of the task.
+     */
     public void unmarkTask() {
         isCompleted = false;
+        display = null;
+        file = null;
     }
 
     /**
@@ -61,28 +96,52 @@ public abstract class Task implements Item {
      * @return <li>The format is "MMM dd yyyy hh:mma".</li><li>Eg. "Aug 26 2025 12:32am".</li>
      */
     protected String parseDateTime(LocalDateTime dateTime) {
-        return dateTime.format(OUTPUT_DATETIME_FORMAT)
-                .replace("AM", "am")
-                .replace("PM", "pm");
+        return DisplayFormat.formatDateTime(dateTime);
     }
 
     /**
-     * Converts the task into a <code>String</code> suitable for saving into the database file.
+     * Renders the task into a <code>String</code> suitable for saving into the database file.
      *
      * @return <li>"1 | name" if completed.</li><li>"0 | name" if not completed.</li>
      */
-    @Override
-    public String toFile() {
+    protected String renderFile() {
         return (isCompleted ? "1" : "0") + " | " + name;
     }
 
     /**
-     * Converts the task into a <code>String</code> suitable for displaying.
+     * Renders the task into a <code>String</code> suitable for displaying.
      *
      * @return <li>"[X] name" if completed.</li><li>"[ ] name" if not completed.</li>
      */
-    @Override
-    public String toString() {
+    protected String renderDisplay() {
         return "[" + (isCompleted ? "X" : " ") + "] " + name;
     }
+
+    /**
+     * Converts the task into a <code>String</code> suitable for saving into the database file, which is
+     * rendered only the first time after it is created or labelled. The id of the task comes first, if it
+     * has one.
+     *
+     * @return <li>"id | type | completed | name ..." if it has an id.</li><li>"type | completed | name ..."
+     *         otherwise.</li>
+     */
+    @Override
+    public final String toFile() {
+        if (file == null) {
+            file = id == 0 ? renderFile() : id + " | " + renderFile();
+        }
+        return file;
+    }
+
+    /**
+     * Converts the task into a <code>String</code> suitable for displaying, which is rendered only the first
+     * time after it is created or labelled.
+     */
+    @Override
+    public final String toString() {
+        if (display == null) {
+            display = renderDisplay();
+        }
+        return display;
+    }
 }
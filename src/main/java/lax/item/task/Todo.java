@@ -31,8 +31,8 @@ public class Todo extends Task {
      * @return <li>"todo | 1 | name" if completed.</li><li>"todo | 0 | name" if not completed.</li>
      */
     @Override
-    public String toFile() {
-        return "todo | " + super.toFile();
+    protected String renderFile() {
+        return "todo | " + super.renderFile();
     }
 
     /**
@@ -41,8 +41,8 @@ public class Todo extends Task {
      * @return <li>"[T][X] name" if completed.</li><li>"[T][ ] name" if not completed.</li>
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String renderDisplay() {
+        return "[T]" + super.renderDisplay();
     }
 
     /**
@@ -0,0 +1,154 @@
+package lax.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the histogram of latencies in nanoseconds, in buckets that grow with the latency so that any
+ * latency is kept to within 1/16 of its value, like an HDR histogram.
+ * <p>
+ * Every power of two is split into 16 buckets. A latency is recorded by incrementing the count of its
+ * bucket atomically, without any lock, so it can be recorded from any thread, such as the writer threads of
+ * the storages. The counts can be read at any time, though a latency recorded at the same time may not be
+ * included yet.
+ */
+public class LatencyHistogram {
+    /**
+     * The number of bits of a latency that its bucket keeps, after its highest bit.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets that every power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets, which covers every latency up to <code>Long.MAX_VALUE</code>.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The number of latencies in every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The number of latencies recorded.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of the latencies recorded.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * The highest latency recorded.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Returns the bucket of the latency. The latencies below 16 nanoseconds have a bucket each.
+     */
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the lowest latency of the bucket.
+     */
+    static long lowestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Returns the highest latency of the bucket.
+     */
+    static long highestOf(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowestOf(bucket + 1) - 1;
+    }
+
+    /**
+     * Records the latency.
+     *
+     * @param nanos The latency in nanoseconds, where a negative latency is recorded as 0.
+     */
+    public void record(long nanos) {
+        long latency = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(latency));
+        count.increment();
+        total.add(latency);
+        max.accumulateAndGet(latency, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the latencies recorded, or 0 if there is none.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Finds the latency that the percentage of the latencies recorded are at most, which is the highest
+     * latency of its bucket, but never more than the highest latency recorded.
+     *
+     * @param percentile The percentage, from 0 to 100.
+     * @return The latency in nanoseconds, or 0 if there is none.
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets every latency recorded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+}
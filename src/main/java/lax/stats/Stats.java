@@ -0,0 +1,195 @@
+package lax.stats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lax.command.Command.CommandType;
+
+/**
+ * Represents the statistics of the chatbot since it started, which are the latencies of dispatching the
+ * inputs and of executing every type of command, and the counters of the reads and writes of the storages.
+ * <p>
+ * Everything is recorded without a lock, so recording costs little more than reading the clock, and the
+ * statistics are only summarised when they are shown.
+ */
+public final class Stats {
+    /**
+     * The latencies of dispatching the inputs into their commands.
+     */
+    public static final LatencyHistogram DISPATCH = new LatencyHistogram();
+
+    /**
+     * The writes of the storages, each of which is a group of changes written together.
+     */
+    public static final Counter WRITES = new Counter();
+
+    /**
+     * The loads of the database files.
+     */
+    public static final Counter LOADS = new Counter();
+
+    /**
+     * The latencies of executing the commands, by their type.
+     */
+    private static final Map<CommandType, LatencyHistogram> EXECUTIONS = new EnumMap<>(CommandType.class);
+
+    /**
+     * The percentiles that are shown of every latency.
+     */
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+
+    static {
+        for (CommandType type : CommandType.values()) {
+            EXECUTIONS.put(type, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Represents the counter of the number of operations, their bytes and the time that they took.
+     */
+    public static class Counter {
+        /**
+         * The number of operations.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * The number of bytes of the operations.
+         */
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * The time in nanoseconds that the operations took.
+         */
+        private final LongAdder nanos = new LongAdder();
+
+        /**
+         * Counts an operation that took the time.
+         *
+         * @param n The time in nanoseconds that the operation took.
+         */
+        public void record(long n) {
+            count.increment();
+            nanos.add(n);
+        }
+
+        /**
+         * Counts the bytes of the operations, which may be counted apart from the operations.
+         *
+         * @param b The number of bytes.
+         */
+        public void addBytes(long b) {
+            bytes.add(b);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * Forgets every operation counted.
+         */
+        public void reset() {
+            count.reset();
+            bytes.reset();
+            nanos.reset();
+        }
+    }
+
+    private Stats() {
+    }
+
+    /**
+     * Returns the latencies of executing the type of command.
+     */
+    public static LatencyHistogram executionOf(CommandType type) {
+        return EXECUTIONS.get(type);
+    }
+
+    /**
+     * Forgets every statistic recorded.
+     */
+    public static void reset() {
+        DISPATCH.reset();
+        EXECUTIONS.values().forEach(LatencyHistogram::reset);
+        WRITES.reset();
+        LOADS.reset();
+    }
+
+    /**
+     * Converts the nanoseconds into milliseconds with 3 decimal places.
+     */
+    private static String toMillis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000);
+    }
+
+    /**
+     * Formats a line of the latencies of the histogram.
+     */
+    private static String formatLatencies(String name, LatencyHistogram histogram) {
+        StringBuilder sb = new StringBuilder(
+                String.format(Locale.ROOT, "%-8s %6d", name.toLowerCase(Locale.ROOT), histogram.getCount()));
+        for (double percentile : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, " %9s", toMillis(histogram.getPercentile(percentile))));
+        }
+        return sb.append(String.format(Locale.ROOT, " %9s", toMillis(histogram.getMax()))).toString();
+    }
+
+    /**
+     * Formats a line of the counter.
+     */
+    private static String formatCounter(String name, Counter counter) {
+        return String.format(Locale.ROOT, "%-8s %6d %12d bytes %9s ms", name, counter.getCount(),
+                counter.getBytes(), toMillis(counter.getNanos()));
+    }
+
+    /**
+     * Summarises the statistics into the percentiles of the latencies in milliseconds, of dispatching and of
+     * every type of command that has been executed, and the totals of the storages.
+     *
+     * @return <li>The summary, such as:</li><li>"Latencies (ms):\ncommand   count       p50 ..."</li>
+     */
+    public static String summarise() {
+        StringBuilder sb = new StringBuilder("Latencies (ms):\n");
+        sb.append(String.format(Locale.ROOT, "%-8s %6s %9s %9s %9s %9s", "command", "count", "p50", "p90", "p99",
+                "max"));
+        sb.append('\n').append(formatLatencies("dispatch", DISPATCH));
+        for (Map.Entry<CommandType, LatencyHistogram> entry : EXECUTIONS.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                sb.append('\n').append(formatLatencies(entry.getKey().name(), entry.getValue()));
+            }
+        }
+
+        return sb.append("\n\nStorage:\n")
+                .append(formatCounter("writes", WRITES)).append('\n')
+                .append(formatCounter("loads", LOADS))
+                .toString();
+    }
+
+    /**
+     * Writes the summary of the statistics into the file, replacing what it held.
+     *
+     * @param path The path of the file.
+     * @throws IOException If the file could not be written.
+     */
+    public static void dump(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(path, summarise() + System.lineSeparator());
+    }
+}
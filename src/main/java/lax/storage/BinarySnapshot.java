@@ -0,0 +1,265 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import lax.stats.Stats;
+
+/**
+ * Represents the binary format of a database file, read through memory-mapped buffers.
+ * <p>
+ * The file starts with a header of the magic number, version, number of records and the offset of the string
+ * heap. It is followed by fixed-width records of a type byte, a flag byte, the offset and length of the text
+ * in the string heap, the id of the item and two <code>long</code> values, such as epoch-minutes. The string
+ * heap holds the UTF-8 text of every record.
+ * <p>
+ * The file is only ever written in full. Changes made since are kept in the journal of the file, and are
+ * folded into a new file by a compaction.
+ */
+public class BinarySnapshot {
+    /**
+     * The first four bytes of every binary database file, "LAXB".
+     */
+    public static final int MAGIC = 0x4C415842;
+
+    /**
+     * The version of the binary format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * The size of every record in bytes.
+     */
+    private static final int RECORD_SIZE = 32;
+
+    /**
+     * The bit of the flag byte that is set if the item is flagged, such as being completed.
+     */
+    private static final byte FLAGGED = 1;
+
+    /**
+     * Represents a single fixed-width record in the binary database file.
+     */
+    public static class Entry {
+        /**
+         * The id of the item, or 0 if it has none.
+         */
+        private final int id;
+
+        /**
+         * The type of the item.
+         */
+        private final byte type;
+
+        /**
+         * The flag of the item, such as its completion status.
+         */
+        private final boolean isFlagged;
+
+        /**
+         * The text of the item, such as its name or description.
+         */
+        private final String text;
+
+        /**
+         * The first value of the item, such as a date in epoch-minutes.
+         */
+        private final long first;
+
+        /**
+         * The second value of the item, such as a date in epoch-minutes.
+         */
+        private final long second;
+
+        /**
+         * Constructs the record of an item.
+         *
+         * @param id        The id of the item.
+         * @param type      The type of the item.
+         * @param isFlagged The flag of the item.
+         * @param text      The text of the item.
+         * @param first     The first value of the item.
+         * @param second    The second value of the item.
+         */
+        public Entry(int id, byte type, boolean isFlagged, String text, long first, long second) {
+            this.id = id;
+            this.type = type;
+            this.isFlagged = isFlagged;
+            this.text = text;
+            this.first = first;
+            this.second = second;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public boolean isFlagged() {
+            return isFlagged;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public long getSecond() {
+            return second;
+        }
+    }
+
+    /**
+     * Returns the offset of the record at the index in the file.
+     */
+    private static long offsetOf(int index) {
+        return HEADER_SIZE + (long) index * RECORD_SIZE;
+    }
+
+    /**
+     * Puts the fixed-width record into the buffer.
+     */
+    private static void putRecord(ByteBuffer buffer, Entry entry, int textOffset, int textLength) {
+        buffer.put(entry.getType())
+                .put(entry.isFlagged() ? FLAGGED : 0)
+                .putShort((short) 0)
+                .putInt(textOffset)
+                .putInt(textLength)
+                .putInt(entry.getId())
+                .putLong(entry.getFirst())
+                .putLong(entry.getSecond());
+    }
+
+    /**
+     * Writes the whole buffer into the channel at the position, and counts its bytes as written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        Stats.WRITES.addBytes(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Checks if the file is in the binary format by its magic number.
+     *
+     * @param path The path of the database file.
+     * @throws IOException If the file could not be read.
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.BIG_ENDIAN);
+            channel.read(buffer, 0);
+            return buffer.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Writes the records into the file in the binary format and forces them onto the disk.
+     *
+     * @param path    The path of the database file.
+     * @param entries The records in the order of the catalogue.
+     * @throws IOException If the file could not be written.
+     */
+    public static void write(Path path, List<Entry> entries) throws IOException {
+        List<byte[]> texts = new ArrayList<>(entries.size());
+        int heapSize = 0;
+        for (Entry entry : entries) {
+            byte[] text = entry.getText().getBytes(StandardCharsets.UTF_8);
+            texts.add(text);
+            heapSize += text.length;
+        }
+
+        int heapOffset = (int) offsetOf(entries.size());
+        ByteBuffer buffer = ByteBuffer.allocate(heapOffset + heapSize).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(entries.size()).putInt(heapOffset);
+
+        int textOffset = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            putRecord(buffer, entries.get(i), textOffset, texts.get(i).length);
+            textOffset += texts.get(i).length;
+        }
+        buffer.position(heapOffset);
+        texts.forEach(buffer::put);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, buffer, 0);
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Reads every record of the binary database file through memory-mapped buffers. The records and the
+     * string heap are mapped separately, as each of them is addressed by <code>int</code> offsets, so neither
+     * mapping is limited by the size of the whole file. The mappings are not kept after the records are read.
+     *
+     * @param path The path of the database file.
+     * @return The records in the order they were written.
+     * @throws IOException If the file could not be read or is not of a supported version.
+     */
+    public static List<Entry> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Truncated database file: " + path);
+                }
+            }
+
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported database file format: " + path);
+            }
+
+            int count = header.getInt(8);
+            int heapOffset = header.getInt(12);
+            long heapSize = channel.size() - heapOffset;
+            if (count < 0 || offsetOf(count) > heapOffset || heapSize < 0 || heapSize > Integer.MAX_VALUE) {
+                throw new IOException("Truncated database file: " + path);
+            }
+
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE,
+                    (long) count * RECORD_SIZE);
+            MappedByteBuffer heap = channel.map(FileChannel.MapMode.READ_ONLY, heapOffset, heapSize);
+            records.order(ByteOrder.BIG_ENDIAN);
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int offset = i * RECORD_SIZE;
+                int textOffset = records.getInt(offset + 4);
+                int textLength = records.getInt(offset + 8);
+                String text = StandardCharsets.UTF_8.decode(heap.slice(textOffset, textLength)).toString();
+                entries.add(new Entry(records.getInt(offset + 12), records.get(offset),
+                        (records.get(offset + 1) & FLAGGED) != 0, text,
+                        records.getLong(offset + 16), records.getLong(offset + 24)));
+            }
+            return entries;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated database file: " + path);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Represents the background folding of a <code>Journal</code> into its snapshot file.
+ * <p>
+ * The journal is first rotated aside so that new records keep being appended while the compaction runs.
+ * The folded snapshot is written to a temporary file and renamed to "*.compacted", which is the point where
+ * the compaction is committed. The rotated journal is then discarded and the compacted file is renamed over
+ * the snapshot. <code>recover</code> finishes any compaction that was committed but not completed. A full
+ * save of the database replaces the snapshot through the same temporary file.
+ */
+public class Compactor {
+    /**
+     * The default number of records in the journal that triggers a compaction.
+     */
+    public static final int DEFAULT_MAX_RECORDS = 500;
+
+    /**
+     * The default size of the journal in bytes that triggers a compaction.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64 * 1024;
+
+    /**
+     * Represents the folding of the rotated journal records into the current database file.
+     */
+    @FunctionalInterface
+    public interface Fold {
+        /**
+         * Applies the records onto the current database file.
+         *
+         * @param records The rotated journal records in order.
+         * @return The full version of the database file with the records applied.
+         * @throws IOException If the database file could not be read.
+         */
+        Snapshot apply(List<String> records) throws IOException;
+    }
+
+    /**
+     * The single background thread shared by all compactions.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lax-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The path of the snapshot file.
+     */
+    private final Path snapshotPath;
+
+    /**
+     * The path of the temporary file that the folded snapshot is written to.
+     */
+    private final Path tempPath;
+
+    /**
+     * The path of the folded snapshot once the compaction is committed.
+     */
+    private final Path compactedPath;
+
+    /**
+     * The journal that is folded into the snapshot.
+     */
+    private final Journal journal;
+
+    /**
+     * The lock held while the snapshot file is being replaced.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The compaction that is currently running, if any.
+     */
+    private volatile Future<?> pending;
+
+    /**
+     * Constructs the compactor of the snapshot file and its journal.
+     *
+     * @param s The path of the snapshot file.
+     * @param j The journal of the snapshot file.
+     */
+    public Compactor(Path s, Journal j) {
+        snapshotPath = s;
+        tempPath = s.resolveSibling(s.getFileName() + ".tmp");
+        compactedPath = s.resolveSibling(s.getFileName() + ".compacted");
+        journal = j;
+    }
+
+    public Object getLock() {
+        return lock;
+    }
+
+    /**
+     * Checks if the journal has crossed either of the thresholds.
+     *
+     * @param maxRecords The number of records that triggers a compaction.
+     * @param maxBytes   The size of the journal in bytes that triggers a compaction.
+     * @throws IOException If the size of the journal could not be read.
+     */
+    public boolean isDue(int maxRecords, long maxBytes) throws IOException {
+        return journal.getRecordCount() >= maxRecords || journal.size() >= maxBytes;
+    }
+
+    /**
+     * Checks if a compaction is currently running in the background.
+     */
+    public boolean isRunning() {
+        return pending != null && !pending.isDone();
+    }
+
+    /**
+     * Moves the file to the target, atomically if the file system supports it.
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the full version of the database file. It is written to the temporary file
+     * and then renamed over the snapshot, so the snapshot is never left half-written by a crash.
+     *
+     * @param snapshot The full version of the database file.
+     * @throws IOException If the file could not be written or renamed.
+     */
+    public void replace(Snapshot snapshot) throws IOException {
+        synchronized (lock) {
+            snapshot.writeTo(tempPath);
+            move(tempPath, snapshotPath);
+        }
+    }
+
+    /**
+     * Finishes a compaction that was committed before the application stopped, so that the rotated
+     * journal is not replayed twice.
+     *
+     * @throws IOException If the compacted file could not be moved over the snapshot.
+     */
+    public void recover() throws IOException {
+        synchronized (lock) {
+            Files.deleteIfExists(tempPath);
+            if (Files.exists(compactedPath)) {
+                journal.clearCompacting();
+                move(compactedPath, snapshotPath);
+            }
+        }
+    }
+
+    /**
+     * Folds the rotated journal into the snapshot.
+     *
+     * @param fold The folding of the journal records into the database file.
+     */
+    private void compact(Fold fold) {
+        synchronized (lock) {
+            try {
+                fold.apply(journal.readCompactingRecords()).writeTo(tempPath);
+                move(tempPath, compactedPath);
+                journal.clearCompacting();
+                move(compactedPath, snapshotPath);
+            } catch (IOException e) {
+                System.out.println("Error compacting journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rotates the journal and folds it into the snapshot in the background. Nothing is done if a
+     * compaction is already running.
+     *
+     * @param fold The folding of the journal records into the database file.
+     * @throws IOException If the journal could not be rotated.
+     */
+    public void schedule(Fold fold) throws IOException {
+        if (isRunning()) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (!journal.rotate()) {
+                return;
+            }
+            pending = EXECUTOR.submit(() -> compact(fold));
+        }
+    }
+
+    /**
+     * Waits for the running compaction, if any, to complete.
+     */
+    public void await() {
+        Future<?> current = pending;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error compacting journal: " + e.getMessage());
+        }
+    }
+}
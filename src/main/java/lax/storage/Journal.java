@@ -0,0 +1,218 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the append-only log of mutations made to a <code>Catalogue</code> since its last snapshot.
+ * Every record is a single line of the format "operation | payload", where the payload of an add is the line
+ * of the item with its id, and the payload of any other record is the id of the item that it changes.
+ */
+public class Journal {
+    /**
+     * The separator between the operation and the payload of a record.
+     */
+    public static final String SEPARATOR = " | ";
+
+    /**
+     * Types of mutations that can be recorded.
+     */
+    public enum Operation { ADD, DELETE, MARK, UNMARK }
+
+    /**
+     * The path of the journal file.
+     */
+    private final Path path;
+
+    /**
+     * The path of the journal that is being folded into the snapshot by a compaction.
+     */
+    private final Path compactingPath;
+
+    /**
+     * The path where the records are kept when they could not be replayed.
+     */
+    private final Path rejectedPath;
+
+    /**
+     * The number of records appended since the journal was last rotated or cleared.
+     */
+    private int recordCount = 0;
+
+    /**
+     * Constructs the journal of the snapshot file at the specified path. The journal is stored beside the
+     * snapshot with the extension ".journal".
+     *
+     * @param snapshotPath The path of the snapshot file.
+     */
+    public Journal(Path snapshotPath) {
+        path = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".journal");
+        compactingPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".journal.compacting");
+        rejectedPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".journal.rejected");
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Path getCompactingPath() {
+        return compactingPath;
+    }
+
+    public Path getRejectedPath() {
+        return rejectedPath;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the size of the journal file in bytes, or 0 if there is no journal.
+     *
+     * @throws IOException If the size could not be read.
+     */
+    public long size() throws IOException {
+        return exists() ? Files.size(path) : 0;
+    }
+
+    /**
+     * Checks if there are records in the journal that have not been folded into the snapshot.
+     */
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Creates a single record line from the operation and payload.
+     *
+     * @return <li>"add | 12 | todo | 0 | read book" for an add.</li><li>"mark | 12" for a mark.</li>
+     */
+    public static String toRecord(Operation operation, String payload) {
+        return operation.name().toLowerCase() + SEPARATOR + payload;
+    }
+
+    /**
+     * Appends one record to the end of the journal, creating the file if it does not exist.
+     *
+     * @param operation The type of mutation.
+     * @param payload   The item line for an add, or the item index for the other operations.
+     * @throws IOException If the record could not be written.
+     */
+    public void append(Operation operation, String payload) throws IOException {
+        append(List.of(toRecord(operation, payload)));
+    }
+
+    /**
+     * Appends the records to the end of the journal through a single write and forces them onto the disk.
+     *
+     * @param records The records in the order they were made.
+     * @throws IOException If the records could not be written.
+     */
+    public synchronized void append(List<String> records) throws IOException {
+        StorageWriter.write(path, records, StandardOpenOption.APPEND);
+        recordCount += records.size();
+    }
+
+    /**
+     * Reads every non-empty record in the journal file in the order they were appended.
+     *
+     * @return The list of records or an empty list if there is no such file.
+     */
+    private static List<String> readRecords(Path file) throws IOException {
+        List<String> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                records.add(line.trim());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Reads every record that has not been folded into the snapshot, in the order they were appended.
+     * Records of an unfinished compaction come before the records in the current journal.
+     *
+     * @return The list of records or an empty list if there is no journal.
+     * @throws IOException If the journal could not be read.
+     */
+    public List<String> readRecords() throws IOException {
+        List<String> records = readRecords(compactingPath);
+        List<String> current = readRecords(path);
+        recordCount = current.size();
+        records.addAll(current);
+        return records;
+    }
+
+    /**
+     * Reads the records that are being folded into the snapshot by the current compaction.
+     *
+     * @throws IOException If the journal could not be read.
+     */
+    public List<String> readCompactingRecords() throws IOException {
+        return readRecords(compactingPath);
+    }
+
+    /**
+     * Moves the current journal aside so that it can be compacted while new records are appended to a
+     * fresh journal.
+     *
+     * @return <code>true</code> if there are rotated records to compact, <code>false</code> otherwise.
+     * @throws IOException If the journal could not be moved.
+     */
+    public synchronized boolean rotate() throws IOException {
+        if (Files.exists(compactingPath)) {
+            // Records left by an unfinished compaction have to be folded first
+            return true;
+        }
+
+        if (!exists()) {
+            return false;
+        }
+
+        Files.move(path, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+        recordCount = 0;
+        return true;
+    }
+
+    /**
+     * Appends the records that could not be replayed to a file beside the journal, so that they are not lost
+     * when the journal is discarded.
+     *
+     * @param records The records that could not be replayed.
+     * @throws IOException If the records could not be written.
+     */
+    public void setAside(List<String> records) throws IOException {
+        StorageWriter.write(rejectedPath, records, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Discards the records that have been folded into the snapshot by a compaction.
+     *
+     * @throws IOException If the journal could not be deleted.
+     */
+    public void clearCompacting() throws IOException {
+        Files.deleteIfExists(compactingPath);
+    }
+
+    /**
+     * Discards all records in the journal once they have been folded into the snapshot.
+     *
+     * @throws IOException If the journal could not be deleted.
+     */
+    public synchronized void clear() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(compactingPath);
+        recordCount = 0;
+    }
+}
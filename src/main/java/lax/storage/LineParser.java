@@ -0,0 +1,241 @@
+package lax.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lax.item.DateParser;
+import lax.item.notes.Note;
+import lax.item.task.Deadline;
+import lax.item.task.Event;
+import lax.item.task.Task;
+import lax.item.task.Todo;
+
+/**
+ * Represents the single-pass parser of the lines in the text database files. Fields are located by their
+ * character indexes instead of being split and trimmed, and a corrupted line is reported by returning
+ * <code>null</code> instead of throwing an exception.
+ */
+public class LineParser {
+    /**
+     * The separator between the fields of a line.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * The line that is being parsed.
+     */
+    private final String line;
+
+    /**
+     * The index of the start of the current field.
+     */
+    private int start;
+
+    /**
+     * The index after the end of the current field, with surrounding whitespaces excluded.
+     */
+    private int end;
+
+    /**
+     * The index of the separator after the current field, or the length of the line if it is the last.
+     */
+    private int next;
+
+    /**
+     * Constructs the parser of a single line, positioned before its first field.
+     */
+    private LineParser(String l) {
+        line = l;
+        next = -1;
+    }
+
+    /**
+     * Excludes the whitespaces surrounding the current field.
+     *
+     * @return <code>true</code> if the field is not empty, <code>false</code> otherwise.
+     */
+    private boolean trimField() {
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return start < end;
+    }
+
+    /**
+     * Moves to the next field of the line.
+     *
+     * @return <code>true</code> if there is a non-empty field, <code>false</code> otherwise.
+     */
+    private boolean nextField() {
+        if (next >= line.length()) {
+            return false;
+        }
+
+        start = next + 1;
+        next = line.indexOf(SEPARATOR, start);
+        if (next < 0) {
+            next = line.length();
+        }
+        end = next;
+        return trimField();
+    }
+
+    /**
+     * Moves to the rest of the line after the current field, including any further separators.
+     *
+     * @return <code>true</code> if the rest of the line is not empty, <code>false</code> otherwise.
+     */
+    private boolean restOfLine() {
+        if (next >= line.length()) {
+            return false;
+        }
+
+        start = next + 1;
+        next = line.length();
+        end = next;
+        return trimField();
+    }
+
+    /**
+     * Checks if the current field is the keyword, ignoring case.
+     */
+    private boolean fieldIs(String keyword) {
+        return end - start == keyword.length() && line.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    /**
+     * Returns the current field as a string.
+     */
+    private String field() {
+        return line.substring(start, end);
+    }
+
+    /**
+     * Parses the current field as an id, which has at most nine digits.
+     *
+     * @return The id, or -1 if the field is not an id.
+     */
+    private int id() {
+        if (end - start > 9) {
+            return -1;
+        }
+
+        int id = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Parses the current field as a date of the format "yyyy-MM-dd".
+     *
+     * @return The date, or <code>null</code> if the field is not a valid date.
+     */
+    private LocalDate date() {
+        return DateParser.parseIsoDate(line, start, end);
+    }
+
+    /**
+     * Parses the current field as a dateTime of the format "yyyy-MM-ddTHH:mm" or "yyyy-MM-ddTHH:mm:ss".
+     *
+     * @return The dateTime, or <code>null</code> if the field is not a valid dateTime.
+     */
+    private LocalDateTime dateTime() {
+        return DateParser.parseIsoDateTime(line, start, end);
+    }
+
+    /**
+     * Parses a line of the format "id | type | completed | name | dateTime | dateTime" into a <code>Task</code>.
+     * The id is left out by lines saved before the tasks had ids, whose tasks are then given one when they are
+     * added to the taskList. Deadlines have one dateTime, events have two and todos have none. Any further
+     * fields are ignored.
+     *
+     * @param line The line to parse.
+     * @return The <code>Task</code>, or <code>null</code> if the line is corrupted.
+     */
+    public static Task parseTask(String line) {
+        LineParser parser = new LineParser(line);
+        if (!parser.nextField()) {
+            return null;
+        }
+
+        int id = parser.id();
+        if (id >= 0 && !parser.nextField()) {
+            return null;
+        }
+
+        Task task = parser.task();
+        if (task != null && id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Parses the rest of the line from its type field into a <code>Task</code>.
+     */
+    private Task task() {
+        boolean isTodo = fieldIs("todo");
+        boolean isDeadline = fieldIs("deadline");
+        boolean isEvent = fieldIs("event");
+        if ((!isTodo && !isDeadline && !isEvent) || !nextField()) {
+            return null;
+        }
+
+        boolean isCompleted = fieldIs("1");
+        if (!nextField()) {
+            return null;
+        }
+
+        String name = field();
+        if (isTodo) {
+            return new Todo(name, isCompleted);
+        }
+
+        LocalDateTime first = nextField() ? dateTime() : null;
+        if (first == null) {
+            return null;
+        }
+
+        if (isDeadline) {
+            return new Deadline(name, isCompleted, first);
+        }
+
+        LocalDateTime second = nextField() ? dateTime() : null;
+        return second == null ? null : new Event(name, isCompleted, first, second);
+    }
+
+    /**
+     * Parses a line of the format "id | date | description" into a <code>Note</code>. The id is left out by
+     * lines saved before the notes had ids. The description is the rest of the line after the date.
+     *
+     * @param line The line to parse.
+     * @return The <code>Note</code>, or <code>null</code> if the line is corrupted.
+     */
+    public static Note parseNote(String line) {
+        LineParser parser = new LineParser(line);
+        if (!parser.nextField()) {
+            return null;
+        }
+
+        int id = parser.id();
+        LocalDate date = id < 0 || parser.nextField() ? parser.date() : null;
+        if (date == null || !parser.restOfLine()) {
+            return null;
+        }
+
+        Note note = new Note(parser.field(), date);
+        if (id > 0) {
+            note.setId(id);
+        }
+        return note;
+    }
+}
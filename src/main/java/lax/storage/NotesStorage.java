@@ -3,20 +3,16 @@ package lax.storage;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 
+import lax.catalogue.ItemTree;
 import lax.catalogue.NoteList;
+import lax.item.Item;
 import lax.item.notes.Note;
 
 /**
  * Represents the database storage for notes.
  */
 public class NotesStorage extends Storage {
-    /**
-     * The maximum number of notes that can be stored.
-     */
-    private static final int MAX_NOTES = 100;
-
     /**
      * Constructs a <code>NotesStorage</code> object with the specified file path.
      */
@@ -44,18 +40,45 @@ public class NotesStorage extends Storage {
     }
 
     /**
-     * Parses the line into a <code>Note</code> object.
+     * Parses the line into a <code>Note</code> object through the single-pass <code>LineParser</code>.
      *
      * @param line The line to parse.
-     * @return The created <code>Note</code>.
+     * @return The created <code>Note</code>, or <code>null</code> if the line is corrupted.
      */
     protected Note parseLine(String line) {
-        try {
-            return createNote(line);
-        } catch (IndexOutOfBoundsException | DateTimeParseException e) {
+        Note note = LineParser.parseNote(line);
+        if (note == null) {
             super.handleCorruptedItem(line);
+        }
+        return note;
+    }
+
+    /**
+     * Converts the <code>Note</code> into a binary record of its id, description and date in epoch-days.
+     */
+    @Override
+    protected BinarySnapshot.Entry encode(Item item) {
+        if (!(item instanceof Note note)) {
             return null;
         }
+        return new BinarySnapshot.Entry(note.getId(), (byte) 0, false, note.getDescription(),
+                note.getDate().toEpochDay(), 0);
+    }
+
+    /**
+     * Converts the binary record into a <code>Note</code>, with the id of the record.
+     */
+    @Override
+    protected Note decode(BinarySnapshot.Entry entry) {
+        if (entry.getText().isEmpty()) {
+            return null;
+        }
+
+        Note note = new Note(entry.getText(), LocalDate.ofEpochDay(entry.getFirst()));
+        if (entry.getId() > 0) {
+            note.setId(entry.getId());
+        }
+        return note;
     }
 
     /**
@@ -66,7 +89,8 @@ public class NotesStorage extends Storage {
      * @throws IOException If there is an error reading the file.
      */
     public NoteList loadNotes() throws IOException {
-        ArrayList<Note> notesList = super.load(new ArrayList<>(MAX_NOTES), this::parseLine);
-        return new NoteList(notesList);
+        NoteList notes = new NoteList(super.load(new ItemTree<>(), this::parseLine));
+        loadIndex(notes);
+        return notes;
     }
 }
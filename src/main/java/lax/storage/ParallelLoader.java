@@ -0,0 +1,153 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Represents the parallel loading of a large text database file. The file is split into byte ranges that
+ * end on a newline, every range is parsed on the <code>ForkJoinPool</code> and the items are merged back in
+ * the order of the file.
+ */
+public class ParallelLoader {
+    /**
+     * The smallest size in bytes of a range, so that small files are not split needlessly.
+     */
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+
+    /**
+     * Represents the parsing of a single range of the file.
+     */
+    private static class Chunk<T> extends RecursiveTask<List<T>> {
+        /**
+         * The version of the serialized form of the task.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The content of the file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The index of the first byte of the range.
+         */
+        private final int from;
+
+        /**
+         * The index after the last byte of the range.
+         */
+        private final int to;
+
+        /**
+         * The function that converts the string line to an item.
+         */
+        private final Function<String, T> parseLine;
+
+        /**
+         * Constructs the parsing of the range of the file.
+         */
+        private Chunk(ByteBuffer b, int f, int t, Function<String, T> p) {
+            buffer = b;
+            from = f;
+            to = t;
+            parseLine = p;
+        }
+
+        /**
+         * Decodes the range and parses every non-empty line in it.
+         */
+        @Override
+        protected List<T> compute() {
+            String text = StandardCharsets.UTF_8.decode(buffer.slice(from, to - from)).toString();
+            List<T> items = new ArrayList<>();
+            int start = 0;
+            while (start < text.length()) {
+                int end = text.indexOf('\n', start);
+                if (end < 0) {
+                    end = text.length();
+                }
+
+                String line = text.substring(start, end).trim();
+                if (!line.isEmpty()) {
+                    T item = parseLine.apply(line);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+                start = end + 1;
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Finds the index after the first newline at or after the index, or the end of the file.
+     */
+    private static int nextLineStart(ByteBuffer buffer, int index) {
+        while (index < buffer.limit() && buffer.get(index) != '\n') {
+            index++;
+        }
+        return Math.min(index + 1, buffer.limit());
+    }
+
+    /**
+     * Reads the whole file into a buffer on the heap. The file is not mapped, since a mapped file cannot be
+     * replaced until the mapping is collected on some platforms.
+     */
+    private static ByteBuffer readFully(FileChannel channel, Path path) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Database file is too large: " + path);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Loads every line of the file in parallel. The parse function may be called from several threads at
+     * once and must be thread-safe.
+     *
+     * @param path      The path of the text database file.
+     * @param parseLine The function that converts the string line to an item, or <code>null</code> if the
+     *                  line is corrupted.
+     * @return The items in the order of the file.
+     * @throws IOException If the file could not be read.
+     */
+    public static <T> ArrayList<T> load(Path path, Function<String, T> parseLine) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readFully(channel, path);
+            int size = buffer.limit();
+            int chunkCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                    size / MIN_CHUNK_BYTES));
+
+            List<Chunk<T>> chunks = new ArrayList<>(chunkCount);
+            int from = 0;
+            for (int i = 1; i <= chunkCount && from < size; i++) {
+                int to = i == chunkCount ? size : nextLineStart(buffer, (int) ((long) size * i / chunkCount));
+                if (to > from) {
+                    chunks.add(new Chunk<>(buffer, from, to, parseLine));
+                    from = to;
+                }
+            }
+
+            ArrayList<T> items = new ArrayList<>();
+            ForkJoinTask.invokeAll(chunks).forEach(chunk -> items.addAll(chunk.join()));
+            return items;
+        }
+    }
+}
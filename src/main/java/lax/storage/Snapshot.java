@@ -0,0 +1,18 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Represents a full version of a database file that is waiting to be written.
+ */
+@FunctionalInterface
+public interface Snapshot {
+    /**
+     * Writes the full version of the database file into the path and forces it onto the disk.
+     *
+     * @param path The path to write to.
+     * @throws IOException If the file could not be written.
+     */
+    void writeTo(Path path) throws IOException;
+}
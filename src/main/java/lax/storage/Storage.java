@@ -1,31 +1,117 @@
 package lax.storage;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import lax.catalogue.Catalogue;
+import lax.catalogue.Change;
+import lax.catalogue.ItemList;
+import lax.catalogue.ItemTree;
 import lax.item.Item;
+import lax.stats.Stats;
 
 /**
  * Represents the database of the chatbot specified at the <code>filePath</code>.
  */
 public class Storage {
+    /**
+     * Formats of the database file. <code>TEXT</code> stores one readable line per item and
+     * <code>BINARY</code> stores fixed-width records as described in <code>BinarySnapshot</code>.
+     */
+    public enum Format { TEXT, BINARY }
+
     /**
      * The path of the database file.
      */
     private final String filePath;
 
     /**
-     * The total number of corrupted lines in the file.
+     * The default size in bytes of a text database file that is loaded in parallel.
+     */
+    public static final long DEFAULT_PARALLEL_LOAD_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * The total number of corrupted lines in the file. It is counted from every thread of a parallel load.
+     */
+    private final AtomicInteger corrupted = new AtomicInteger();
+
+    /**
+     * The number of items in the file that were saved without an id, or with the id of another item, and so
+     * are given a new id by the list that they are loaded into.
+     */
+    private int renumbered;
+
+    /**
+     * The log of mutations made since the file was last written in full.
+     */
+    private final Journal journal;
+
+    /**
+     * The background compaction of the journal into the database file.
+     */
+    private final Compactor compactor;
+
+    /**
+     * The writer of the database file and its journal.
+     */
+    private final StorageWriter writer;
+
+    /**
+     * Indicates if mutations are appended to the journal instead of rewriting the whole file.
+     */
+    private boolean isJournaled = false;
+
+    /**
+     * Indicates if saves are deferred, so that the changes are kept in the catalogue until it is saved
+     * once no longer deferred.
+     */
+    private boolean isDeferred = false;
+
+    /**
+     * The number of records in the journal that triggers a compaction.
+     */
+    private int maxJournalRecords = Compactor.DEFAULT_MAX_RECORDS;
+
+    /**
+     * The size of the journal in bytes that triggers a compaction.
      */
-    private final int[] corrupted = { 0 };
+    private long maxJournalBytes = Compactor.DEFAULT_MAX_BYTES;
+
+    /**
+     * The format that the database file is written in.
+     */
+    private Format format = Format.TEXT;
+
+    /**
+     * The size in bytes from which a text database file is loaded in parallel.
+     */
+    private long parallelLoadBytes = DEFAULT_PARALLEL_LOAD_BYTES;
+
+    /**
+     * The database file that the database file is copied from if it does not exist yet, or
+     * <code>null</code> if it starts empty.
+     */
+    private Path sourcePath;
+
+    /**
+     * Indicates if the database file could not be read when it was last loaded. The file is then not saved
+     * over, so that the items in it can still be recovered.
+     */
+    private boolean isUnreadable = false;
+
+    /**
+     * The function used to parse the lines of the file when it was last loaded.
+     */
+    private Function<String, ? extends Item> parser;
 
     /**
      * Constructs the database at the specified file path.
@@ -34,6 +120,89 @@ public class Storage {
      */
     public Storage(String f) {
         filePath = f;
+        journal = new Journal(Path.of(f));
+        compactor = new Compactor(Path.of(f), journal);
+        writer = new StorageWriter(Path.of(f), journal, compactor);
+    }
+
+    public int getCorruptedCount() {
+        return corrupted.get();
+    }
+
+    public boolean isJournaled() {
+        return isJournaled;
+    }
+
+    public void setJournaled(boolean journaled) {
+        isJournaled = journaled;
+    }
+
+    public boolean isDeferred() {
+        return isDeferred;
+    }
+
+    public void setDeferred(boolean deferred) {
+        isDeferred = deferred;
+    }
+
+    /**
+     * Sets the format that the database file is written in. A file in the other format is still read and is
+     * migrated to this format when it is next loaded.
+     */
+    public void setFormat(Format f) {
+        format = f;
+    }
+
+    /**
+     * Sets the database file, such as a text file of an earlier version, that the database file is copied
+     * from when it does not exist yet. The source file and its journal are only read, and are kept as they
+     * are.
+     */
+    public void setSourcePath(String path) {
+        sourcePath = Path.of(path);
+    }
+
+    /**
+     * Returns the path of the binary database file that is kept beside the text database file, which has
+     * the extension ".bin" in place of its own.
+     *
+     * @param textPath The path of the text database file.
+     * @return <li>"./data/task.bin" for "./data/task.txt".</li>
+     */
+    public static String toBinaryPath(String textPath) {
+        Path path = Path.of(textPath);
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return path.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".bin").toString();
+    }
+
+    /**
+     * Sets the size in bytes from which a text database file is split into chunks and loaded in parallel.
+     * The function that parses the lines then has to be thread-safe.
+     */
+    public void setParallelLoadBytes(long bytes) {
+        parallelLoadBytes = bytes;
+    }
+
+    /**
+     * Sets the level of durability of every following save.
+     *
+     * @param durability The level of durability.
+     * @throws IOException If the changes pending under the previous level could not be written.
+     */
+    public void setDurability(StorageWriter.Durability durability) throws IOException {
+        writer.setDurability(durability);
+    }
+
+    /**
+     * Sets the thresholds of the journal that trigger a background compaction.
+     *
+     * @param maxRecords The number of records in the journal.
+     * @param maxBytes   The size of the journal in bytes.
+     */
+    public void setCompactionThresholds(int maxRecords, long maxBytes) {
+        maxJournalRecords = maxRecords;
+        maxJournalBytes = maxBytes;
     }
 
     /**
@@ -68,7 +237,7 @@ public class Storage {
      * Increments the total count of corrupted lines and prints out the line that is corrupted.
      */
     protected void handleCorruptedItem(String line) {
-        corrupted[0]++;
+        corrupted.incrementAndGet();
         System.out.println("Skipping corrupted item: " + line);
     }
 
@@ -76,54 +245,467 @@ public class Storage {
      * Prints the total number of corrupted lines in the file.
      */
     private void printTotalCorruptedItem() {
-        System.out.println("Total Corrupted Items: " + corrupted[0] + "\n");
+        System.out.println("Total Corrupted Items: " + corrupted.get() + "\n");
+    }
+
+    /**
+     * Adds the item to the list, and counts it if the list gives it another id than it was saved with.
+     */
+    private <T extends Item> void addItem(List<T> arrayList, T item) {
+        int id = item.getId();
+        arrayList.add(item);
+        if (item.getId() != id) {
+            renumbered++;
+        }
+    }
+
+    /**
+     * Labels the item while the journal is being replayed. Only storages of items that can be labelled
+     * need to override this.
+     *
+     * @param item   The item to be labelled.
+     * @param isMark <code>true</code> if the record is a mark, <code>false</code> if it is an unmark.
+     */
+    protected void applyLabel(Item item, boolean isMark) {
+        // Items are not labelled by default
+    }
+
+    /**
+     * Parses the id of the item that a journal record refers to.
+     *
+     * @throws NumberFormatException If the payload is not an id.
+     */
+    private static int parseId(String payload) {
+        int id = Integer.parseInt(payload);
+        if (id <= 0) {
+            throw new NumberFormatException("Invalid id: " + payload);
+        }
+        return id;
+    }
+
+    /**
+     * Applies a single journal record onto the items loaded from the snapshot. The record refers to its item
+     * by id, so a record that is already in the snapshot, such as the add of an item that is in it or the
+     * delete of an item that is not, is skipped. A record that cannot be applied is counted as corrupted once.
+     *
+     * @return <code>true</code> if the record is applied or skipped, <code>false</code> if it is corrupted.
+     */
+    private <T extends Item> boolean applyRecord(String record, ItemList<T> items, Function<String, T> parseLine) {
+        String[] data = record.split("\\|", 2);
+        if (data.length == 2) {
+            try {
+                switch (Journal.Operation.valueOf(data[0].trim().toUpperCase())) {
+                case ADD -> {
+                    // A line that cannot be parsed is already counted as corrupted by parseLine
+                    T item = parseLine.apply(data[1].trim());
+                    if (item == null) {
+                        return false;
+                    }
+                    if (item.getId() > 0) {
+                        if (items.indexOfId(item.getId()) < 0) {
+                            addItem(items, item);
+                        }
+                        return true;
+                    }
+                }
+                case DELETE -> {
+                    int index = items.indexOfId(parseId(data[1].trim()));
+                    if (index >= 0) {
+                        items.remove(index);
+                    }
+                    return true;
+                }
+                case MARK, UNMARK -> {
+                    int index = items.indexOfId(parseId(data[1].trim()));
+                    if (index >= 0) {
+                        // The item is set back, as a list in columns only returns a copy of it
+                        T item = items.get(index);
+                        applyLabel(item, data[0].trim().equalsIgnoreCase("mark"));
+                        items.set(index, item);
+                    }
+                    return true;
+                }
+                default -> {
+                    // Counted as corrupted below
+                }
+                }
+            } catch (IllegalArgumentException e) {
+                // Counted as corrupted below
+            }
+        }
+
+        handleCorruptedItem(record);
+        return false;
+    }
+
+    /**
+     * Applies the journal records in order. A record that cannot be applied is left out, and the records
+     * after it are still applied, since each of them refers to its item by id rather than by position.
+     *
+     * @return The records that could not be applied.
+     */
+    private <T extends Item> List<String> applyRecords(List<String> records, ItemList<T> items,
+            Function<String, T> parseLine) {
+        List<String> rejected = new ArrayList<>();
+        for (String record : records) {
+            if (!applyRecord(record, items, parseLine)) {
+                rejected.add(record);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Replays every record in the journal on top of the items loaded from the snapshot, in the order they
+     * were appended. The records that cannot be applied are set aside for the user, and the items with every
+     * other record applied are saved as the new snapshot, which discards the journal.
+     */
+    private <T extends Item> void replayJournal(ItemList<T> items, Function<String, T> parseLine)
+            throws IOException {
+        List<String> rejected = applyRecords(journal.readRecords(), items, parseLine);
+        if (!rejected.isEmpty()) {
+            journal.setAside(rejected);
+            System.out.println("Skipped " + rejected.size() + " corrupted records of the journal, which are kept in "
+                    + journal.getRejectedPath());
+            saveSnapshot(items);
+        }
+    }
+
+    /**
+     * Converts the <code>Item</code> into a record of the binary format. Only storages that support the
+     * binary format need to override this.
+     *
+     * @param item The item to convert.
+     * @return The binary record, or null if the binary format is not supported.
+     */
+    protected BinarySnapshot.Entry encode(Item item) {
+        return null;
+    }
+
+    /**
+     * Converts a record of the binary format into an <code>Item</code>. Only storages that support the
+     * binary format need to override this.
+     *
+     * @param entry The binary record.
+     * @return The item, or null if the record is corrupted or the binary format is not supported.
+     */
+    protected Item decode(BinarySnapshot.Entry entry) {
+        return null;
+    }
+
+    /**
+     * Creates the full version of the database file from the items in the current format.
+     *
+     * @throws IOException If the current format is not supported by this storage.
+     */
+    private Snapshot toSnapshot(List<? extends Item> items) throws IOException {
+        if (format == Format.TEXT) {
+            List<String> lines = items.stream()
+                    .map(Item::toFile)
+                    .collect(Collectors.toList());
+            return path -> StorageWriter.write(path, lines, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        List<BinarySnapshot.Entry> entries = new ArrayList<>(items.size());
+        for (Item item : items) {
+            BinarySnapshot.Entry entry = encode(item);
+            if (entry == null) {
+                throw new IOException("Binary format is not supported for " + filePath);
+            }
+            entries.add(entry);
+        }
+        return path -> BinarySnapshot.write(path, entries);
+    }
+
+    /**
+     * Reads every item in the database file, in either format, into the list. Every item of a small text
+     * file is added as soon as it is parsed, and large text files are loaded in parallel.
+     *
+     * @param path      The path of the database file.
+     * @param parseLine The function that converts the string line to an <code>Item</code> object.
+     * @param arrayList The list to add the items to, in the order they are stored.
+     * @throws IOException If the file could not be read.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Item> void readItems(Path path, Function<String, T> parseLine, List<T> arrayList)
+            throws IOException {
+        if (BinarySnapshot.isBinary(path)) {
+            for (BinarySnapshot.Entry entry : BinarySnapshot.read(path)) {
+                // decode is overridden together with parseLine, so both create the same type of item
+                T item = (T) decode(entry);
+                if (item == null) {
+                    handleCorruptedItem(entry.getText());
+                } else {
+                    addItem(arrayList, item);
+                }
+            }
+            return;
+        }
+
+        if (Files.size(path) >= parallelLoadBytes) {
+            for (T item : ParallelLoader.load(path, parseLine)) {
+                addItem(arrayList, item);
+            }
+            return;
+        }
+
+        try (Stream<String> lines = Files.lines(path)) {
+            lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(parseLine)
+                    .filter(Objects::nonNull)
+                    .forEachOrdered(item -> addItem(arrayList, item));
+        }
+    }
+
+    /**
+     * Folds the journal records into the current database file.
+     *
+     * @param records   The journal records to be applied in order.
+     * @param parseLine The function that converts the string line to an <code>Item</code> object.
+     * @return The full version of the database file with the records applied.
+     * @throws IOException If the file could not be read or a record could not be applied.
+     */
+    private <T extends Item> Snapshot fold(List<String> records, Function<String, T> parseLine)
+            throws IOException {
+        ItemTree<T> items = new ItemTree<>();
+        readItems(Path.of(filePath), parseLine, items);
+        if (!applyRecords(records, items, parseLine).isEmpty()) {
+            // The journal is kept so that the record is set aside when the database is next loaded
+            throw new IOException("Journal has a record that could not be applied.");
+        }
+        return toSnapshot(items);
+    }
+
+    /**
+     * Reads the items of the source file with its journal replayed into the list, without changing either of
+     * them.
+     *
+     * @return <code>true</code> if there is a source file, <code>false</code> otherwise.
+     * @throws IOException If the source file could not be read.
+     */
+    private <T extends Item> boolean readSource(ItemList<T> items, Function<String, T> parseLine)
+            throws IOException {
+        if (sourcePath == null || !Files.exists(sourcePath)) {
+            return false;
+        }
+
+        readItems(sourcePath, parseLine, items);
+        // Records that cannot be applied are counted as corrupted, and are left in the journal of the source
+        applyRecords(new Journal(sourcePath).readRecords(), items, parseLine);
+        System.out.println("Copied " + items.size() + " items from " + sourcePath + " into " + filePath);
+        return true;
+    }
+
+    /**
+     * Starts a background compaction if the journal has crossed either of its thresholds.
+     *
+     * @return <code>true</code> if a compaction is started, <code>false</code> otherwise.
+     */
+    private boolean compactIfDue() throws IOException {
+        if (parser == null || !compactor.isDue(maxJournalRecords, maxJournalBytes)) {
+            return false;
+        }
+        compactor.schedule(records -> fold(records, parser));
+        return true;
+    }
+
+    /**
+     * Waits for the running background compaction, if any, to complete.
+     */
+    public void awaitCompaction() {
+        compactor.await();
     }
 
     /**
-     * Loads the file and parses every line which creates an arraylist of items based on what the function
-     * parseLine creates.
+     * Loads the file and parses every line which adds the items that the function parseLine creates into
+     * the list. Any records left in the journal are then replayed on top of it. A file that is not in the
+     * current format is migrated to it, and a file with items that are given a new id is saved again with
+     * their ids, unless some of its items are corrupted. A file that does not exist yet is created, as a copy
+     * of the source file if there is one.
      *
      * @param <T>       An item or its subtypes.
-     * @param arrayList The arraylist to store the items.
+     * @param <L>       The type of list that stores the items.
+     * @param arrayList The empty list to store the items.
      * @param parseLine The function that converts the string line to an <code>Item</code> object.
-     * @return The arraylist with the items or an empty arraylist.
+     * @return The list with the items, which is empty if the file could not be read. No changes are then
+     *         saved until the file is loaded again.
      */
-    protected <T extends Item> ArrayList<T> load(ArrayList<T> arrayList, Function<String, T> parseLine)
+    protected <T extends Item, L extends ItemList<T>> L load(L arrayList, Function<String, T> parseLine)
             throws IOException {
-        corrupted[0] = 0;
+        corrupted.set(0);
+        renumbered = 0;
+        isUnreadable = false;
+        parser = parseLine;
         Path path = Path.of(filePath);
+        compactor.recover();
 
         if (!Files.exists(path)) {
             createFileDirectory(path.getParent());
-            createFile(path);
+            boolean isCopied = readSource(arrayList, parseLine);
+            if (!isCopied) {
+                createFile(path);
+            }
+            replayJournal(arrayList, parseLine);
+            if (isCopied) {
+                saveSnapshot(arrayList);
+            }
             return arrayList;
         }
 
-        try (Stream<String> lines = Files.lines(path)) {
-            arrayList = lines.map(String::trim)
-                    .filter(line -> !line.isEmpty())
-                    .map(parseLine)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toCollection(ArrayList::new));
+        try {
+            long start = System.nanoTime();
+            boolean isBinary = BinarySnapshot.isBinary(path);
+            try {
+                readItems(path, parseLine, arrayList);
+            } catch (IOException e) {
+                // The items read before the error are not kept
+                arrayList.clear();
+                throw e;
+            }
+            replayJournal(arrayList, parseLine);
+            Stats.LOADS.addBytes(Files.size(path) + journal.size());
+            Stats.LOADS.record(System.nanoTime() - start);
 
-            if (corrupted[0] > 0) {
+            if (corrupted.get() > 0) {
                 printTotalCorruptedItem();
             }
+
+            if ((isBinary != (format == Format.BINARY) || renumbered > 0) && corrupted.get() == 0) {
+                saveSnapshot(arrayList);
+            }
         } catch (IOException e) {
-            System.out.println("Error reading file from hard disk: " + e.getMessage());
+            isUnreadable = true;
+            System.out.println("Error reading file from hard disk: " + e.getMessage()
+                    + "\nNo changes will be saved into it until it can be read.");
         }
 
         return arrayList;
     }
 
+    /**
+     * Refuses to save over the database file if it could not be read when it was last loaded.
+     *
+     * @throws IOException If the database file could not be read.
+     */
+    private void checkReadable() throws IOException {
+        if (isUnreadable) {
+            throw new IOException("Changes are not saved because the database file could not be read: " + filePath);
+        }
+    }
+
+    /**
+     * Submits the full version of the database file with the items.
+     */
+    private void saveSnapshot(List<? extends Item> items) throws IOException {
+        writer.submitSnapshot(toSnapshot(items));
+    }
+
     /**
      * Saves the existing version of <code>Catalogue</code> into the file specified by writing directly over
-     * the existing file.
+     * the existing file, together with its search index if it is built.
      *
      * @param catalogue The <code>Catalogue</code> that is being read and write into the file.
      */
     public void saveTask(Catalogue catalogue) throws IOException {
-        Path path = new File(filePath).toPath();
-        Files.write(path, catalogue.serialize());
+        checkReadable();
+        catalogue.clearChanges();
+        if (format == Format.BINARY) {
+            saveSnapshot(catalogue.getItems());
+        } else {
+            List<String> lines = catalogue.serialize();
+            writer.submitSnapshot(path -> StorageWriter.write(path, lines, StandardOpenOption.TRUNCATE_EXISTING));
+        }
+        saveBuiltIndex(catalogue);
+    }
+
+    /**
+     * Saves only the changes made to the <code>Catalogue</code> since it was last saved. In journaled mode the
+     * changes are appended to the journal through a single write, whatever the format of the file, and are
+     * folded into the file by a compaction, when the search index is saved too. Otherwise, the file is saved
+     * in full.
+     * <p>
+     * While saves are deferred, nothing is written and the changes are kept to be saved together later.
+     *
+     * @param catalogue The <code>Catalogue</code> that is changed.
+     */
+    public void saveChanges(Catalogue catalogue) throws IOException {
+        if (isDeferred || catalogue.getChanges().isEmpty()) {
+            return;
+        }
+        checkReadable();
+
+        List<Change> changes = new ArrayList<>(catalogue.getChanges());
+        if (isJournaled) {
+            catalogue.clearChanges();
+            List<String> records = new ArrayList<>(changes.size());
+            for (Change change : changes) {
+                String payload = change.getType() == Change.Type.ADD
+                        ? change.getItem().toFile()
+                        : String.valueOf(change.getItem().getId());
+                records.add(Journal.toRecord(Journal.Operation.valueOf(change.getType().name()), payload));
+            }
+            writer.submitRecords(records);
+            if (compactIfDue()) {
+                saveBuiltIndex(catalogue);
+            }
+            return;
+        }
+
+        saveTask(catalogue);
+    }
+
+    /**
+     * Returns the path of the search index file, which is kept alongside the database file.
+     */
+    private Path getIndexPath() {
+        return Path.of(filePath + ".idx");
+    }
+
+    /**
+     * Reads the search index of the <code>Catalogue</code> from its file, if it still matches the items.
+     * Otherwise, the index is rebuilt when it is first used. Nothing is read if the catalogue keeps no index.
+     *
+     * @param catalogue The <code>Catalogue</code> that is just loaded.
+     */
+    protected void loadIndex(Catalogue catalogue) {
+        if (catalogue.getSearchIndex() != null) {
+            catalogue.getSearchIndex().readFrom(getIndexPath());
+        }
+    }
+
+    /**
+     * Writes the search index of the <code>Catalogue</code> into its file, so that it does not have to be
+     * rebuilt when the database is next loaded. Nothing is written if the catalogue keeps no index, or if the
+     * database file could not be read.
+     *
+     * @param catalogue The <code>Catalogue</code> of the database.
+     * @throws IOException If the file could not be written.
+     */
+    public void saveIndex(Catalogue catalogue) throws IOException {
+        if (catalogue.getSearchIndex() != null && !isUnreadable) {
+            catalogue.getSearchIndex().writeTo(getIndexPath());
+        }
+    }
+
+    /**
+     * Writes the search index of the <code>Catalogue</code> into its file along with a full save of the
+     * database, so that a recent index is kept even if the application does not exit cleanly. Nothing is
+     * written if the index has not been built, as building it only to save it would slow down the save.
+     */
+    private void saveBuiltIndex(Catalogue catalogue) throws IOException {
+        if (catalogue.getSearchIndex() != null && catalogue.getSearchIndex().isBuilt()) {
+            saveIndex(catalogue);
+        }
+    }
+
+    /**
+     * Writes every pending change onto the disk, regardless of the durability. It is called before the
+     * application exits.
+     *
+     * @throws IOException If the pending changes could not be written.
+     */
+    public void flush() throws IOException {
+        writer.flush();
     }
 }
@@ -0,0 +1,341 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import lax.stats.Stats;
+
+/**
+ * Represents the writer of a database file and its <code>Journal</code>. Pending changes are written
+ * according to the <code>Durability</code>, either directly by the caller or in groups by a dedicated
+ * writer thread so that every group costs a single write and fsync.
+ */
+public class StorageWriter {
+    /**
+     * The time in milliseconds that the writer thread waits for more changes before writing a group, when
+     * several callers are already waiting for their changes to be written.
+     */
+    public static final long GROUP_WINDOW_MILLIS = 5;
+
+    /**
+     * Levels of durability of a save.
+     * <li><code>SYNC</code> writes and forces every change onto the disk before the save returns.</li>
+     * <li><code>GROUP</code> waits for the writer thread to write the change with the rest of its group. A
+     *     change of a single caller is written at once, without waiting for a group to form.</li>
+     * <li><code>ASYNC</code> returns immediately and the changes are written when the writer thread gets
+     *     to them, or when the writer is flushed on exit.</li>
+     */
+    public enum Durability { SYNC, GROUP, ASYNC }
+
+    /**
+     * The path of the database file.
+     */
+    private final Path snapshotPath;
+
+    /**
+     * The journal of the database file.
+     */
+    private final Journal journal;
+
+    /**
+     * The compaction that the database file has to be shared with.
+     */
+    private final Compactor compactor;
+
+    /**
+     * The journal records waiting to be written, in order.
+     */
+    private final List<String> pendingRecords = new ArrayList<>();
+
+    /**
+     * The lock held while a group is being written, so that groups are written one at a time and in order.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * The latest full version of the database file waiting to be written, if any.
+     */
+    private Snapshot pendingSnapshot;
+
+    /**
+     * The number of changes submitted so far.
+     */
+    private long submitted = 0;
+
+    /**
+     * The number of changes written so far.
+     */
+    private long written = 0;
+
+    /**
+     * The number of callers waiting for their changes to be written under <code>GROUP</code> durability.
+     */
+    private int waiting = 0;
+
+    /**
+     * The error from the last group written by the writer thread, reported to the next caller.
+     */
+    private IOException failure;
+
+    /**
+     * The level of durability of every save.
+     */
+    private Durability durability = Durability.SYNC;
+
+    /**
+     * The dedicated writer thread, started when the durability is not <code>SYNC</code>.
+     */
+    private Thread thread;
+
+    /**
+     * Constructs the writer of the database file.
+     *
+     * @param s The path of the database file.
+     * @param j The journal of the database file.
+     * @param c The compaction of the journal.
+     */
+    public StorageWriter(Path s, Journal j, Compactor c) {
+        snapshotPath = s;
+        journal = j;
+        compactor = c;
+    }
+
+    public synchronized Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Sets the level of durability of every following save. Any change pending under the previous level is
+     * written first.
+     *
+     * @throws IOException If the pending changes could not be written.
+     */
+    public void setDurability(Durability d) throws IOException {
+        flush();
+        synchronized (this) {
+            durability = d;
+            if (d != Durability.SYNC && thread == null) {
+                thread = new Thread(this::run, "lax-writer-" + snapshotPath.getFileName());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Writes the lines to the file through a single write and forces them onto the disk.
+     */
+    static void write(Path path, List<String> lines, StandardOpenOption mode) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append(System.lineSeparator());
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                mode)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(sb.toString());
+            Stats.WRITES.addBytes(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replaces the database file with its full version and discards the journal that it supersedes. The
+     * journal is only discarded once the file is replaced, and replaying it again on top of the new file
+     * leaves the items unchanged.
+     */
+    private void writeSnapshot(Snapshot snapshot) throws IOException {
+        compactor.await();
+        synchronized (compactor.getLock()) {
+            compactor.replace(snapshot);
+            journal.clear();
+        }
+    }
+
+    /**
+     * Writes every pending change as one group. Any error is kept to be reported to the caller.
+     */
+    private void writeGroup() {
+        synchronized (writeLock) {
+            Snapshot snapshot;
+            List<String> records;
+            long target;
+            synchronized (this) {
+                snapshot = pendingSnapshot;
+                records = new ArrayList<>(pendingRecords);
+                target = submitted;
+                pendingSnapshot = null;
+                pendingRecords.clear();
+            }
+
+            long start = System.nanoTime();
+            try {
+                if (snapshot != null) {
+                    writeSnapshot(snapshot);
+                }
+                if (!records.isEmpty()) {
+                    journal.append(records);
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                }
+            } finally {
+                if (snapshot != null || !records.isEmpty()) {
+                    Stats.WRITES.record(System.nanoTime() - start);
+                }
+                synchronized (this) {
+                    written = target;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the changes and writes them in groups until the application stops. The writer only waits
+     * for a group to form when several callers are waiting, so that a single caller is not delayed by it.
+     */
+    private void run() {
+        while (true) {
+            try {
+                boolean isContended;
+                synchronized (this) {
+                    while (written == submitted) {
+                        wait();
+                    }
+                    isContended = waiting > 1;
+                }
+                if (isContended) {
+                    Thread.sleep(GROUP_WINDOW_MILLIS);
+                }
+                writeGroup();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Throws the error from the last group written by the writer thread, if any.
+     */
+    private synchronized void reportFailure() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until every change up to the specified count is written.
+     */
+    private synchronized void await(long target) throws IOException {
+        while (written < target) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while saving");
+            }
+        }
+    }
+
+    /**
+     * Hands the submitted change over according to the durability.
+     */
+    private void commit(long target) throws IOException {
+        switch (getDurability()) {
+        case SYNC -> {
+            writeGroup();
+            reportFailure();
+        }
+        case GROUP -> {
+            synchronized (this) {
+                waiting++;
+                notifyAll();
+            }
+            try {
+                await(target);
+            } finally {
+                synchronized (this) {
+                    waiting--;
+                }
+            }
+            reportFailure();
+        }
+        case ASYNC -> {
+            synchronized (this) {
+                notifyAll();
+            }
+            reportFailure();
+        }
+        default -> throw new IOException("Unknown durability: " + getDurability());
+        }
+    }
+
+    /**
+     * Submits a full version of the database file. It supersedes every journal record submitted before it.
+     *
+     * @param snapshot The full version of the database file.
+     * @throws IOException If the database file could not be written.
+     */
+    public void submitSnapshot(Snapshot snapshot) throws IOException {
+        long target;
+        synchronized (this) {
+            pendingSnapshot = snapshot;
+            pendingRecords.clear();
+            target = ++submitted;
+        }
+        commit(target);
+    }
+
+    /**
+     * Submits a single record to be appended to the journal.
+     *
+     * @param record The journal record.
+     * @throws IOException If the journal could not be written.
+     */
+    public void submitRecord(String record) throws IOException {
+        long target;
+        synchronized (this) {
+            pendingRecords.add(record);
+            target = ++submitted;
+        }
+        commit(target);
+    }
+
+    /**
+     * Submits the records to be appended to the journal together, through the same write.
+     *
+     * @param records The journal records, in the order they were made.
+     * @throws IOException If the journal could not be written.
+     */
+    public void submitRecords(List<String> records) throws IOException {
+        long target;
+        synchronized (this) {
+            pendingRecords.addAll(records);
+            target = ++submitted;
+        }
+        commit(target);
+    }
+
+    /**
+     * Writes every pending change before returning, regardless of the durability.
+     *
+     * @throws IOException If the pending changes could not be written.
+     */
+    public void flush() throws IOException {
+        writeGroup();
+        reportFailure();
+    }
+}
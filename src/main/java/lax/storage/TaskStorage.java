@@ -2,10 +2,13 @@ package lax.storage;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 
+import lax.catalogue.ItemTree;
+import lax.catalogue.TaskColumns;
 import lax.catalogue.TaskList;
+import lax.item.Item;
 import lax.item.task.Deadline;
 import lax.item.task.Event;
 import lax.item.task.Task;
@@ -15,10 +18,24 @@ import lax.item.task.Todo;
  * Represents the database storage for tasks.
  */
 public class TaskStorage extends Storage {
+    /**
+     * Whether the tasks are loaded into a columnar <code>TaskList</code>, which takes less memory for large
+     * lists but scans the tasks to find and filter them.
+     */
+    private boolean isColumnar = false;
+
     public TaskStorage(String filePath) {
         super(filePath);
     }
 
+    public boolean isColumnar() {
+        return isColumnar;
+    }
+
+    public void setColumnar(boolean columnar) {
+        isColumnar = columnar;
+    }
+
     /**
      * Creates the specific <code>Task</code> based on what is written in the file.
      *
@@ -66,20 +83,109 @@ public class TaskStorage extends Storage {
     }
 
     /**
-     * Parses the line into a <code>Task</code> object.
+     * Parses the line into a <code>Task</code> object through the single-pass <code>LineParser</code>.
      *
      * @param line The line to parse.
-     * @return The created <code>Task</code>.
+     * @return The created <code>Task</code>, or <code>null</code> if the line is corrupted.
      */
     protected Task parseLine(String line) {
-        try {
-            return createTask(line);
-        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+        Task task = LineParser.parseTask(line);
+        if (task == null) {
             super.handleCorruptedItem(line);
+        }
+        return task;
+    }
+
+    /**
+     * Marks or unmarks the <code>Task</code> when a label record in the journal is replayed.
+     */
+    @Override
+    protected void applyLabel(Item item, boolean isMark) {
+        if (!(item instanceof Task task)) {
+            return;
+        }
+
+        if (isMark) {
+            task.markTask();
+        } else {
+            task.unmarkTask();
+        }
+    }
+
+    /**
+     * Converts the dateTime into the number of minutes since the epoch.
+     */
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /**
+     * Converts the number of minutes since the epoch into a dateTime.
+     */
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts the <code>Task</code> into a binary record of its id, type, completion status, name and
+     * dateTimes in epoch-minutes.
+     */
+    @Override
+    protected BinarySnapshot.Entry encode(Item item) {
+        if (item instanceof Deadline deadline) {
+            return new BinarySnapshot.Entry(deadline.getId(), (byte) TaskList.TaskType.DEADLINE.ordinal(),
+                    deadline.isCompleted(), deadline.getName(), toEpochMinute(deadline.getDueDate()), 0);
+        } else if (item instanceof Event event) {
+            return new BinarySnapshot.Entry(event.getId(), (byte) TaskList.TaskType.EVENT.ordinal(),
+                    event.isCompleted(), event.getName(), toEpochMinute(event.getStartDate()),
+                    toEpochMinute(event.getEndDate()));
+        } else if (item instanceof Todo todo) {
+            return new BinarySnapshot.Entry(todo.getId(), (byte) TaskList.TaskType.TODO.ordinal(),
+                    todo.isCompleted(), todo.getName(), 0, 0);
+        } else {
             return null;
         }
     }
 
+    /**
+     * Converts the binary record into the specific <code>Task</code>, with the id of the record.
+     */
+    @Override
+    protected Task decode(BinarySnapshot.Entry entry) {
+        Task task = decodeTask(entry);
+        if (task != null && entry.getId() > 0) {
+            task.setId(entry.getId());
+        }
+        return task;
+    }
+
+    /**
+     * Creates the specific <code>Task</code> of the type, completion status, name and dateTimes of the
+     * binary record.
+     */
+    private Task decodeTask(BinarySnapshot.Entry entry) {
+        TaskList.TaskType[] types = TaskList.TaskType.values();
+        if (entry.getType() < 0 || entry.getType() >= types.length || entry.getText().isEmpty()) {
+            return null;
+        }
+
+        switch (types[entry.getType()]) {
+        case TODO -> {
+            return new Todo(entry.getText(), entry.isFlagged());
+        }
+        case DEADLINE -> {
+            return new Deadline(entry.getText(), entry.isFlagged(), fromEpochMinute(entry.getFirst()));
+        }
+        case EVENT -> {
+            return new Event(entry.getText(), entry.isFlagged(),
+                    fromEpochMinute(entry.getFirst()), fromEpochMinute(entry.getSecond()));
+        }
+        default -> {
+            return null;
+        }
+        }
+    }
+
     /**
      * Loads the file specified in filePath by reading every line of the file and converting it into a
      * <code>Task</code>, which then adds it into a taskList and is returned.
@@ -88,7 +194,13 @@ public class TaskStorage extends Storage {
      * @throws IOException If there is an error reading the file.
      */
     public TaskList loadTask() throws IOException {
-        ArrayList<Task> taskList = super.load(new ArrayList<>(100), this::parseLine);
-        return new TaskList(taskList);
+        if (isColumnar) {
+            // The columns are filled as the tasks are parsed, without a list of every Task in between
+            return new TaskList(super.load(new TaskColumns(), this::parseLine));
+        }
+
+        TaskList tasks = new TaskList(super.load(new ItemTree<>(), this::parseLine));
+        loadIndex(tasks);
+        return tasks;
     }
 }
@@ -28,6 +28,13 @@ public class Ui {
         return msg;
     }
 
+    /**
+     * Displays the statistics of the chatbot.
+     */
+    public String showStats(String stats) {
+        return stats;
+    }
+
     /**
      * Displays the full list of commands and how it is being used.
      */
@@ -35,30 +42,37 @@ public class Ui {
         return """
                 List of Commands:
                 >>> general command:
+                - run "script file"
+                - stats ["file"]
                 - help
                 - bye
+                - "command"; "command" ... (a failed command is skipped)
 
                 zzzzz...
                 >>> task command:
                 (add a prefix "task" in front)
-                - list
-                - mark "task number"
-                - unmark "task number"
+                - list [page "page number"]
+                - mark "task numbers"
+                - unmark "task numbers"
                 - todo "task name"
                 - deadline "task name" /by "due DateTime"
                 - event "task name" /from "start DateTime" /to "end DateTime"
-                - delete "task number"
+                - delete "task numbers"
                 - find "task description"
-                - filter "DateTime"
+                - search "keywords"
+                - filter "DateTime" [/to "end DateTime"]
+                - query "field" "operator" "value" ...
 
                 zzzzz...
                 >>> note command:
                 (add a prefix "note" in front)
-                - list
+                - list [page "page number"]
                 - add "note"
-                - delete "note number"
+                - delete "note numbers"
                 - find "note description"
-                - filter "DateTime\"""";
+                - search "keywords"
+                - filter "Date" [/to "end Date"]
+                - query "field" "operator" "value" ...\"""";
     }
 
     /**
@@ -76,10 +90,26 @@ public class Ui {
     }
 
     /**
-     * Displays the error message specific to wrong DateTime format.
+     * Displays the message after every command of a script is run and their changes are saved.
+     */
+    public String showScriptDone(int count) {
+        return "Ran " + count + (count == 1 ? " command" : " commands") + " of the script and saved the changes.";
+    }
+
+    /**
+     * Displays the message after several commands are run with some of them failed, whose changes are
+     * skipped while the changes of the rest are kept.
+     */
+    public String showSkipped(int count) {
+        return "zzzzz...\nSkipped " + count + (count == 1 ? " failed command" : " failed commands")
+                + ", and kept the changes of the rest.";
+    }
+
+    /**
+     * Displays the message after a script stops at a command that failed, and its changes are undone.
      */
-    public String invalidDateTime() {
-        return "zzzzz...\nWrong DateTime format.\neg. 23-08-2025 1800";
+    public String showRolledBack() {
+        return "zzzzz...\nStopped at a failed command, so none of the changes are kept.";
     }
 
     /**
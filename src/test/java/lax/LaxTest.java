@@ -1,15 +1,25 @@
 package lax;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class LaxTest {
+    @TempDir
+    Path tempDir;
+
     @Test
     public void getResponse_success() throws IOException {
-        Lax lax = new Lax("./data/task.txt", "./data/notes.txt");
+        Lax lax = new Lax(tempDir.resolve("task.txt").toString(), tempDir.resolve("notes.txt").toString());
         assertEquals("Bye zzzzz...", lax.getResponse("bye"));
 
         // empty command
@@ -19,7 +29,124 @@ public class LaxTest {
         assertEquals("zzzzz...\nInvalid command.\n\"lax\"", lax.getResponse("lax"));
 
         // shows invalid datetime format error message
-        assertEquals("zzzzz...\nWrong DateTime format.\neg. 23-08-2025 1800",
+        assertEquals("zzzzz...\nInvalid command.\nWrong DateTime format, '2024-10-10 1800' could not be parsed "
+                        + "at index 2.\neg. 23-08-2025 1800",
                 lax.getResponse("task deadline return book /by 2024-10-10 1800"));
     }
+
+    @Test
+    public void runScript_success() throws IOException {
+        String taskPath = tempDir.resolve("task.txt").toString();
+        String notesPath = tempDir.resolve("notes.txt").toString();
+        Lax lax = new Lax(taskPath, notesPath);
+        List<String> replies = new ArrayList<>();
+
+        assertTrue(lax.runScript(List.of("task todo read book", "note add buy milk", "task mark 1"), replies::add));
+        assertEquals(4, replies.size());
+        assertEquals("Nice! I've marked this item as done:\n  [T][X] read book", replies.get(2));
+        assertEquals("Ran 3 commands of the script and saved the changes.", replies.get(3));
+        lax.close();
+
+        Lax reloaded = new Lax(taskPath, notesPath);
+        assertEquals("Here are the items in your list:\n1. [T][X] read book", reloaded.getResponse("task list"));
+        assertEquals("zzzzz...\nInvalid command.\nThis note already exists.",
+                reloaded.getResponse("note add buy milk"));
+    }
+
+    @Test
+    public void runScript_failedCommand_rolledBack() throws IOException {
+        Lax lax = new Lax(tempDir.resolve("task.txt").toString(), tempDir.resolve("notes.txt").toString());
+        lax.getResponse("task todo return book");
+        List<String> replies = new ArrayList<>();
+
+        assertFalse(lax.runScript(List.of("task todo read book", "task delete 1", "task mark 5", "task todo x"),
+                replies::add));
+        assertEquals(4, replies.size());
+        assertEquals("zzzzz...\nInvalid command.\nInvalid task number.", replies.get(2));
+        assertEquals("zzzzz...\nStopped at a failed command, so none of the changes are kept.",
+                replies.get(3));
+        assertEquals("Here are the items in your list:\n1. [T][ ] return book", lax.getResponse("task list"));
+    }
+
+    @Test
+    public void getResponse_runNestedScript_rolledBack() throws IOException {
+        Path script = tempDir.resolve("script.txt");
+        Files.writeString(script, "task todo read book\n\nrun " + script + "\n");
+        Lax lax = new Lax(tempDir.resolve("task.txt").toString(), tempDir.resolve("notes.txt").toString());
+
+        assertEquals("""
+                        Got it. I've added this item to the list:
+                          [T][ ] read book
+                        Now you have 1 items in the list.
+
+                        zzzzz...
+                        Invalid command.
+                        A script can only be run on its own.
+
+                        zzzzz...
+                        Stopped at a failed command, so none of the changes are kept.""",
+                lax.getResponse("run " + script));
+        assertEquals("INVALID", lax.getCommandType());
+        assertEquals("There is no item in your list.", lax.getResponse("task list"));
+    }
+
+    @Test
+    public void getResponse_pipelinedCommands_success() throws IOException {
+        Lax lax = new Lax(tempDir.resolve("task.txt").toString(), tempDir.resolve("notes.txt").toString());
+
+        assertEquals("""
+                        Got it. I've added this item to the list:
+                          [T][ ] a
+                        Now you have 1 items in the list.
+
+                        Nice! I've marked this item as done:
+                          [T][X] a""",
+                lax.getResponse("task todo a; task mark 1"));
+        assertEquals("LABEL", lax.getCommandType());
+
+        String replies = lax.getResponse("task todo b; task mark 3; task delete 1");
+        assertTrue(replies.endsWith("zzzzz...\nInvalid command.\nInvalid task number.\n\n"
+                + "Noted. I've removed this item:\n  [T][X] a\nNow you have 1 items in the list.\n\n"
+                + "zzzzz...\nSkipped 1 failed command, and kept the changes of the rest."));
+        assertEquals("INVALID", lax.getCommandType());
+        assertEquals("Here are the items in your list:\n1. [T][ ] b", lax.getResponse("task list"));
+        assertEquals("Here are the items in your list:\n1. [T][ ] b",
+                new Lax(tempDir.resolve("task.txt").toString(), tempDir.resolve("notes.txt").toString())
+                        .getResponse("task list"));
+    }
+
+    @Test
+    public void getResponse_columnar_success() throws IOException {
+        String taskPath = tempDir.resolve("task.txt").toString();
+        String notesPath = tempDir.resolve("notes.txt").toString();
+        Lax lax = new Lax(taskPath, notesPath, true);
+        lax.getResponse("task todo read book; task todo return book; task mark 2");
+
+        assertEquals("Here are the items in your list matching \"return\":\n1. [T][X] return book",
+                lax.getResponse("task search return"));
+        lax.close();
+        assertFalse(Files.exists(Path.of(taskPath + ".idx")));
+
+        Lax reloaded = new Lax(taskPath, notesPath, true);
+        assertEquals("Here are the items in your list:\n1. [T][ ] read book\n2. [T][X] return book",
+                reloaded.getResponse("task list"));
+    }
+
+    @Test
+    public void getResponse_binary_textFileKept() throws IOException {
+        String taskPath = tempDir.resolve("task.txt").toString();
+        String notesPath = tempDir.resolve("notes.txt").toString();
+        Files.write(Path.of(taskPath), List.of("1 | todo | 0 | read book"));
+        Lax lax = new Lax(taskPath, notesPath, false, true);
+        lax.getResponse("task todo return book");
+        lax.close();
+
+        assertEquals(List.of("1 | todo | 0 | read book"), Files.readAllLines(Path.of(taskPath)));
+        Lax reloaded = new Lax(taskPath, notesPath, false, true);
+        assertEquals("Here are the items in your list:\n1. [T][ ] read book\n2. [T][ ] return book",
+                reloaded.getResponse("task list"));
+        reloaded.close();
+        assertEquals("Here are the items in your list:\n1. [T][ ] read book",
+                new Lax(taskPath, notesPath).getResponse("task list"));
+    }
 }
@@ -0,0 +1,46 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class DateIndexTest {
+    @Test
+    public void findBetween_addAndRemove_success() {
+        ArrayList<LocalDate> items = new ArrayList<>();
+        DateIndex<LocalDate> index = new DateIndex<>(items, d -> d);
+        LocalDate first = LocalDate.parse("2025-09-10");
+        LocalDate second = LocalDate.parse("2025-09-08");
+        LocalDate third = LocalDate.parse("2025-09-20");
+        for (LocalDate d : List.of(first, second, third)) {
+            items.add(d);
+            index.add(d);
+        }
+
+        assertEquals(List.of(second, first), index.findBetween(second, first));
+        assertEquals(List.of(first), index.find(first));
+        items.remove(0);
+        index.remove(first);
+        assertEquals(List.of(), index.find(first));
+        assertEquals(List.of(second, third), index.findBetween(second, third));
+    }
+
+    @Test
+    public void find_existingItems_built() {
+        ArrayList<LocalDate> items = new ArrayList<>();
+        items.add(LocalDate.parse("2025-09-08"));
+        DateIndex<LocalDate> index = new DateIndex<>(items, d -> d);
+        LocalDate added = LocalDate.parse("2025-09-08");
+        items.add(added);
+        index.add(added);
+
+        assertEquals(2, index.find(LocalDate.parse("2025-09-08")).size());
+        index.remove(items.remove(0));
+        assertSame(added, index.find(LocalDate.parse("2025-09-08")).get(0));
+    }
+}
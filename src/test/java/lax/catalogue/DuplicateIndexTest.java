@@ -0,0 +1,44 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public class DuplicateIndexTest {
+    @Test
+    public void contains_addAndRemove_success() {
+        ArrayList<String> items = new ArrayList<>();
+        DuplicateIndex<String, String> index = new DuplicateIndex<>(items, s -> s.toLowerCase(Locale.ENGLISH));
+        items.add("Read Book");
+        index.add("Read Book");
+        items.add("read book");
+        index.add("read book");
+
+        assertTrue(index.contains("read book"));
+        items.remove(0);
+        index.remove("Read Book");
+        assertTrue(index.contains("read book"));
+        items.remove(0);
+        index.remove("read book");
+        assertFalse(index.contains("read book"));
+    }
+
+    @Test
+    public void contains_existingItems_built() {
+        ArrayList<String> items = new ArrayList<>(List.of("note 1", "note 2"));
+        DuplicateIndex<String, String> index = new DuplicateIndex<>(items, s -> s);
+        items.add("note 3");
+        index.add("note 3");
+
+        assertTrue(index.contains("note 1"));
+        assertTrue(index.contains("note 3"));
+        items.remove(0);
+        index.remove("note 1");
+        assertFalse(index.contains("note 1"));
+    }
+}
@@ -0,0 +1,60 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class IntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.parse("2025-01-01T00:00");
+
+    private static LocalDateTime[] period(int start, int end) {
+        return new LocalDateTime[] { start < 0 ? null : BASE.plusHours(start), BASE.plusHours(end) };
+    }
+
+    @Test
+    public void findOverlapping_matchesScan_success() {
+        ArrayList<LocalDateTime[]> items = new ArrayList<>();
+        IntervalIndex<LocalDateTime[]> index = new IntervalIndex<>(items, p -> p[0], p -> p[1]);
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            if (i == 1000) {
+                // builds the tree from the first half, which the second half is then added to
+                index.findOverlapping(BASE, BASE);
+            }
+            int start = random.nextInt(1000) - 50;
+            LocalDateTime[] p = period(start, Math.max(start, 0) + 1 + random.nextInt(100));
+            items.add(p);
+            index.add(p);
+            if (i % 7 == 0) {
+                LocalDateTime[] removed = items.remove(random.nextInt(items.size()));
+                index.remove(removed);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = BASE.plusHours(random.nextInt(1100));
+            LocalDateTime to = from.plusHours(random.nextInt(3) == 0 ? 0 : random.nextInt(50));
+            List<LocalDateTime[]> expected = items.stream()
+                    .filter(p -> (p[0] == null || p[0].isBefore(to)) && p[1].isAfter(from))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.findOverlapping(from, to));
+        }
+    }
+
+    @Test
+    public void findOverlapping_openPeriod_excludesEnds() {
+        ArrayList<LocalDateTime[]> items = new ArrayList<>();
+        items.add(period(1, 3));
+        IntervalIndex<LocalDateTime[]> index = new IntervalIndex<>(items, p -> p[0], p -> p[1]);
+
+        assertEquals(0, index.findOverlapping(BASE.plusHours(1), BASE.plusHours(1)).size());
+        assertEquals(1, index.findOverlapping(BASE.plusHours(2), BASE.plusHours(2)).size());
+        assertEquals(0, index.findOverlapping(BASE.plusHours(3), BASE.plusHours(3)).size());
+    }
+}
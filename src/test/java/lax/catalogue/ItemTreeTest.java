@@ -0,0 +1,89 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import lax.item.task.Task;
+import lax.item.task.Todo;
+
+public class ItemTreeTest {
+    @Test
+    public void addAndRemove_matchesArrayList_success() {
+        Random random = new Random(13);
+        ArrayList<Task> expected = new ArrayList<>();
+        ItemTree<Task> tree = new ItemTree<>();
+        for (int i = 0; i < 2000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("task " + i, false);
+                expected.add(index, task);
+                tree.add(index, task);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), tree.remove(index));
+            }
+        }
+
+        assertEquals(expected, tree);
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+            assertEquals(i, tree.indexOfId(expected.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void iteratorRemove_everyOtherItem_success() {
+        ItemTree<Task> tree = new ItemTree<>(List.of(new Todo("read book", false), new Todo("return book", false),
+                new Todo("buy milk", false), new Todo("call home", false)));
+        Iterator<Task> iterator = tree.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            iterator.next();
+            if (i % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(List.of(new Todo("return book", false), new Todo("call home", false)), tree);
+        assertEquals(-1, tree.indexOfId(1));
+        assertEquals(1, tree.indexOfId(4));
+    }
+
+    @Test
+    public void add_idsKeptOrGiven_success() {
+        ItemTree<Task> tree = new ItemTree<>();
+        Task saved = new Todo("read book", false);
+        saved.setId(7);
+        Task duplicate = new Todo("return book", false);
+        duplicate.setId(7);
+        tree.add(saved);
+        tree.add(duplicate);
+        tree.add(new Todo("buy milk", false));
+        tree.remove(2);
+        tree.add(new Todo("call home", false));
+
+        assertEquals(7, saved.getId());
+        assertEquals(8, duplicate.getId());
+        assertEquals(10, tree.get(2).getId());
+        assertEquals(1, tree.indexOfId(8));
+        assertEquals(-1, tree.indexOfId(9));
+        assertEquals("10 | todo | 0 | call home", tree.get(2).toFile());
+    }
+
+    @Test
+    public void get_outOfBounds_exceptionThrown() {
+        try {
+            new ItemTree<>(List.of(new Todo("read book", false))).get(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("Index 1 out of bounds for length 1", e.getMessage());
+        }
+    }
+}
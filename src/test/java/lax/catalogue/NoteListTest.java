@@ -113,7 +113,7 @@ public class NoteListTest {
         // note already exists
         try {
             arrayList.add(note1);
-            n.addItem("note 1", "note");
+            new NoteList(arrayList).addItem("note 1", "note");
             fail();
         } catch (InvalidCommandException e) {
             assertEquals("Invalid command.\nThis note already exists.", e.getMessage());
@@ -195,11 +195,62 @@ public class NoteListTest {
                 new NoteList(arrayList).filterItems("01-01-2050"));
     }
 
+    @Test
+    public void filterItems_range_success() throws InvalidCommandException {
+        Note note3 = new Note("note 3", LocalDate.parse("2025-09-01"));
+        arrayList.add(note1);
+        arrayList.add(note3);
+        arrayList.add(note2);
+        NoteList n = new NoteList(arrayList);
+
+        assertEquals("""
+                        Here are the items in your list from Sep 01 2025 to Sep 08 2025:
+                        1. [Sep 01 2025] note 3
+                        2. [Sep 08 2025] note 1
+                        3. [Sep 08 2025] note 2""",
+                n.filterItems("01-09-2025 /to 08-09-2025"));
+        assertEquals("""
+                        Here are the items in your list from Sep 02 2025 to Sep 08 2025:
+                        1. [Sep 08 2025] note 1
+                        2. [Sep 08 2025] note 2""",
+                n.filterItems("02-09-2025/to 08-09-2025"));
+
+        try {
+            n.filterItems("01-09-2025 02-09-2025");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nWrong Date format.\neg. 01-09-2025", e.getMessage());
+        }
+
+        try {
+            n.filterItems("08-09-2025 /to 01-09-2025");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nThe range cannot end before it starts.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void queryItems_success() throws InvalidCommandException {
+        arrayList.add(note1);
+        arrayList.add(new Note("buy groceries", LocalDate.parse("2025-09-10")));
+        arrayList.add(note2);
+        NoteList n = new NoteList(arrayList);
+
+        assertEquals("""
+                        Here are the items in your list matching "date>01-09-2025 text~note":
+                        1. [Sep 08 2025] note 1
+                        2. [Sep 08 2025] note 2""",
+                n.queryItems("date>01-09-2025 text~note"));
+        assertEquals("There is no item in your list matching \"date=08-09-2025 text=\"buy groceries\"\".",
+                n.queryItems("date=08-09-2025 text=\"buy groceries\""));
+    }
+
     @Test
     public void serialize_success() {
         arrayList.add(note1);
         NoteList n = new NoteList(arrayList);
 
-        assertEquals("2025-09-08 | note 1", n.serialize().get(0));
+        assertEquals("1 | 2025-09-08 | note 1", n.serialize().get(0));
     }
 }
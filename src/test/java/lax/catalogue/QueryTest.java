@@ -0,0 +1,85 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import lax.exception.InvalidCommandException;
+
+public class QueryTest {
+    private static final LocalDate BASE = LocalDate.parse("2025-09-01");
+
+    private final ArrayList<String> items = new ArrayList<>();
+    private final SearchIndex<String> search = new SearchIndex<>(items, s -> s);
+    private final DateIndex<String> dates = new DateIndex<>(items, QueryTest::dateOf);
+
+    private static LocalDate dateOf(String item) {
+        return BASE.plusDays(Integer.parseInt(item.substring(item.lastIndexOf(' ') + 1)));
+    }
+
+    private Query.Clause<String> compile(String field, char operator, String value)
+            throws InvalidCommandException {
+        if (field.equals("day")) {
+            return Query.dateClause(field, operator, BASE.plusDays(Integer.parseInt(value)), QueryTest::dateOf,
+                    dates);
+        }
+        return Query.textClause(field, operator, value, s -> s, search);
+    }
+
+    private List<String> run(Query<String> query) {
+        return query.run(items, Comparator.comparingInt(search::sequenceOf));
+    }
+
+    @Test
+    public void run_mostSelectiveIndex_chosen() throws InvalidCommandException {
+        for (int i = 0; i < 100; i++) {
+            items.add((i % 10 == 0 ? "weekly report " : "daily log ") + i % 7);
+        }
+
+        // only 10 items are reports, but 14 or 15 items are on each day
+        Query<String> query = Query.compile("text~report day=3", this::compile);
+        assertEquals(List.of("weekly report 3", "weekly report 3"), run(query));
+        assertEquals("text", query.getPlan());
+
+        // the day is more selective than the common text
+        query = Query.compile("text~log day=3", this::compile);
+        assertEquals(12, run(query).size());
+        assertEquals("day", query.getPlan());
+
+        // short text has no index
+        query = Query.compile("text~lo", this::compile);
+        assertEquals(90, run(query).size());
+        assertEquals(Query.SCAN, query.getPlan());
+    }
+
+    @Test
+    public void run_candidatesSorted_success() throws InvalidCommandException {
+        items.addAll(List.of("read book 3", "buy milk 1", "return book 2"));
+
+        Query<String> query = Query.compile("day<4 text~\"book\"", this::compile);
+        assertEquals(List.of("read book 3", "return book 2"), run(query));
+    }
+
+    @Test
+    public void compile_invalidClause_exceptionThrown() {
+        try {
+            Query.compile("text~book day", this::compile);
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\n\"day\"\neg. name~report done=false", e.getMessage());
+        }
+
+        try {
+            Query.compile("day~3", this::compile);
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\n\"day\" can only be compared with <, > or =.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class ResultCacheTest {
+    @Test
+    public void get_leastRecentlyUsed_evicted() {
+        ResultCache<String> cache = new ResultCache<>(2);
+        cache.put("find:a", s -> s.contains("a"), "a");
+        cache.put("find:b", s -> s.contains("b"), "b");
+
+        assertEquals("a", cache.get("find:a"));
+        cache.put("find:c", s -> s.contains("c"), "c");
+        assertNull(cache.get("find:b"));
+        assertEquals("a", cache.get("find:a"));
+        assertEquals("c", cache.get("find:c"));
+    }
+
+    @Test
+    public void invalidate_onlyResultsShowingItem_removed() {
+        ResultCache<String> cache = new ResultCache<>(8);
+        cache.put("find:book", s -> s.contains("book"), "books");
+        cache.put("find:meeting", s -> s.contains("meeting"), "meetings");
+
+        cache.invalidate("read book");
+        assertNull(cache.get("find:book"));
+        assertEquals("meetings", cache.get("find:meeting"));
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,124 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SearchIndexTest {
+    private static final String[] WORDS = { "read", "Book", "return", "notebook", "meeting", "CS2103", "a", "to" };
+
+    @TempDir
+    Path tempDir;
+
+    private static String randomText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1 + random.nextInt(4); i++) {
+            sb.append(i == 0 ? "" : random.nextBoolean() ? " " : "-").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static List<String> scan(List<String> items, String substring) {
+        return items.stream().filter(s -> s.contains(substring)).collect(Collectors.toList());
+    }
+
+    @Test
+    public void find_matchesScan_success() {
+        ArrayList<String> items = new ArrayList<>();
+        SearchIndex<String> index = new SearchIndex<>(items, s -> s);
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            if (i == 250) {
+                // builds the index from the first half, which the second half is then added to
+                index.find("book");
+            }
+            String text = randomText(random);
+            items.add(text);
+            index.add(text);
+            if (i % 5 == 0) {
+                index.remove(items.remove(random.nextInt(items.size())));
+            }
+        }
+
+        for (String query : new String[] { "book", "Book", "ook", "read Book", "d-B", "o", "CS21", "a to", "xyz" }) {
+            assertEquals(scan(items, query), index.find(query));
+        }
+    }
+
+    @Test
+    public void remove_mostItems_sequencesCompacted() {
+        ArrayList<String> items = new ArrayList<>();
+        SearchIndex<String> index = new SearchIndex<>(items, s -> s);
+        index.find("book");
+        for (int i = 0; i < 300; i++) {
+            String text = "note " + i + (i % 2 == 0 ? " book" : "");
+            items.add(text);
+            index.add(text);
+        }
+        for (int i = 0; i < 250; i++) {
+            index.remove(items.remove(0));
+        }
+
+        // without compaction, the last item would keep the sequence number 299
+        assertTrue(index.sequenceOf(items.get(49)) < 100);
+        assertTrue(index.sequenceOf(items.get(0)) < index.sequenceOf(items.get(49)));
+        assertEquals(scan(items, "book"), index.find("book"));
+        assertEquals(List.of("note 299"), index.search("299", 5));
+    }
+
+    @Test
+    public void search_rankedByBm25_success() {
+        ArrayList<String> items = new ArrayList<>(List.of("read book", "buy milk", "book book club",
+                "return library book", "read news"));
+        SearchIndex<String> index = new SearchIndex<>(items, s -> s);
+
+        // the rarer token "read" outweighs the common token "book"
+        assertEquals(List.of("read book", "read news", "book book club"), index.search("READ book", 3));
+        assertEquals(List.of("book book club", "read book", "return library book"), index.search("book", 5));
+        assertEquals(List.of(), index.search("missing", 5));
+    }
+
+    @Test
+    public void rank_scannedTexts_sameAsSearch() {
+        ArrayList<String> items = new ArrayList<>(List.of("read book", "buy milk", "book book club",
+                "return library book", "read news"));
+        SearchIndex<String> index = new SearchIndex<>(items, s -> s);
+
+        for (String query : List.of("READ book", "book", "club milk", "missing", "")) {
+            assertEquals(index.search(query, 3),
+                    SearchIndex.rank(items, query, 3).stream().map(items::get).toList());
+        }
+    }
+
+    @Test
+    public void readFrom_savedIndex_success() throws IOException {
+        ArrayList<String> items = new ArrayList<>(List.of("read book", "return book", "project meeting"));
+        SearchIndex<String> index = new SearchIndex<>(items, s -> s);
+        index.remove(items.remove(0));
+        Path path = tempDir.resolve("notes.txt.idx");
+        index.writeTo(path);
+
+        SearchIndex<String> loaded = new SearchIndex<>(items, s -> s);
+        assertTrue(loaded.readFrom(path));
+        assertEquals(List.of("return book"), loaded.find("book"));
+        assertEquals(index.search("book meeting", 5), loaded.search("book meeting", 5));
+        items.add("book club");
+        loaded.add("book club");
+        assertEquals(List.of("return book", "book club"), loaded.find("book"));
+
+        // the saved index no longer matches the items
+        items.remove(1);
+        items.set(0, "return books");
+        assertFalse(new SearchIndex<>(items, s -> s).readFrom(path));
+    }
+}
@@ -0,0 +1,110 @@
+package lax.catalogue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import lax.item.task.Deadline;
+import lax.item.task.Event;
+import lax.item.task.Task;
+import lax.item.task.Todo;
+
+public class TaskColumnsTest {
+    private static final LocalDateTime BASE = LocalDateTime.parse("2025-08-25T13:50");
+
+    private static Task randomTask(Random random, int i) {
+        String name = "task " + i;
+        boolean isCompleted = random.nextBoolean();
+        LocalDateTime start = BASE.plusMinutes(random.nextInt(10_000));
+        switch (random.nextInt(3)) {
+        case 0 -> {
+            return new Todo(name, isCompleted);
+        }
+        case 1 -> {
+            return new Deadline(name, isCompleted, start);
+        }
+        default -> {
+            return new Event(name, isCompleted, start, start.plusMinutes(1 + random.nextInt(600)));
+        }
+        }
+    }
+
+    private static LocalDateTime startOf(Task t) {
+        return t instanceof Event temp ? temp.getStartDate() : null;
+    }
+
+    private static LocalDateTime endOf(Task t) {
+        if (t instanceof Deadline temp) {
+            return temp.getDueDate();
+        }
+        return t instanceof Event temp ? temp.getEndDate() : null;
+    }
+
+    @Test
+    public void addAndRemove_matchesArrayList_success() {
+        Random random = new Random(15);
+        ArrayList<Task> expected = new ArrayList<>();
+        TaskColumns columns = new TaskColumns();
+        for (int i = 0; i < 2000; i++) {
+            int choice = random.nextInt(4);
+            if (expected.isEmpty() || choice < 2) {
+                Task t = randomTask(random, i);
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, t);
+                columns.add(index, t);
+            } else if (choice == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), columns.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task t = columns.get(index);
+                t.markTask();
+                expected.get(index).markTask();
+                columns.set(index, t);
+            }
+        }
+
+        assertEquals(expected.size(), columns.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toFile(), columns.get(i).toFile());
+            assertEquals(i, columns.indexOfId(expected.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void containsEqual_ignoresCaseAndCompletion_success() {
+        TaskColumns columns = new TaskColumns(List.of(new Todo("read book", true),
+                new Deadline("return book", BASE)));
+
+        assertTrue(columns.containsEqual(new Todo("READ Book")));
+        assertTrue(columns.containsEqual(new Deadline("return book", true, BASE)));
+        assertFalse(columns.containsEqual(new Deadline("return book", BASE.plusMinutes(1))));
+        assertFalse(columns.containsEqual(new Todo("return book")));
+    }
+
+    @Test
+    public void findOverlapping_matchesIntervalIndex_success() {
+        Random random = new Random(9);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(randomTask(random, i));
+        }
+        TaskColumns columns = new TaskColumns(tasks);
+        TaskList taskList = new TaskList(tasks);
+
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime from = BASE.plusMinutes(random.nextInt(11_000));
+            LocalDateTime to = from.plusMinutes(random.nextInt(3) == 0 ? 0 : random.nextInt(2000));
+            assertEquals(new IntervalIndex<>(tasks, TaskColumnsTest::startOf, TaskColumnsTest::endOf)
+                    .findOverlapping(from, to), columns.findOverlapping(from, to));
+        }
+        assertEquals(taskList.getSearchIndex().find("task 1"), columns.findByName("task 1"));
+    }
+}
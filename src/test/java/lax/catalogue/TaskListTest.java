@@ -7,7 +7,6 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -177,9 +176,9 @@ public class TaskListTest {
             TaskList t = new TaskList(arrayList);
             t.addItem("project meeting /from 23/08/2025 1400 /to 2025-08-23 16:00", "event");
             fail();
-        } catch (DateTimeParseException e) {
-            assertEquals("Text '23/08/2025 1400' could not be parsed at index 2",
-                    e.getMessage());
+        } catch (InvalidCommandException e) {
+            assertEquals("Wrong DateTime format, '23/08/2025 1400' could not be parsed at index 2.\n"
+                    + "eg. 23-08-2025 1800", e.getDetail());
         }
     }
 
@@ -274,7 +273,7 @@ public class TaskListTest {
     }
 
     @Test
-    public void filterItems_taskFiltered_success() {
+    public void filterItems_taskFiltered_success() throws InvalidCommandException {
         arrayList.add(todo);
         arrayList.add(deadline);
         arrayList.add(event);
@@ -289,11 +288,151 @@ public class TaskListTest {
                 new TaskList(arrayList).filterItems("01-01-2050 0000"));
     }
 
+    @Test
+    public void filterItems_range_success() throws InvalidCommandException {
+        arrayList.add(todo);
+        arrayList.add(deadline);
+        arrayList.add(event);
+        TaskList t = new TaskList(arrayList);
+
+        // range overlapping the event only
+        assertEquals("Here are the items in your list from Aug 26 2025 03:00pm to Aug 27 2025 12:00am:\n"
+                        + "1. [E][ ] project meeting (from: Aug 26 2025 02:00pm to: Aug 26 2025 04:00pm)",
+                t.filterItems("26-08-2025 1500 /to 27-08-2025 0000"));
+
+        // range overlapping both, in the order of the taskList
+        assertEquals("Here are the items in your list from Aug 25 2025 12:00pm to Aug 26 2025 03:00pm:\n"
+                        + "1. [D][ ] return book (by: Aug 25 2025 01:50pm)\n"
+                        + "2. [E][ ] project meeting (from: Aug 26 2025 02:00pm to: Aug 26 2025 04:00pm)",
+                t.filterItems("25-08-2025 1200 /to 26-08-2025 1500"));
+
+        // deleted task is no longer found
+        t.deleteItem("2");
+        assertEquals("Here are the items in your list from Aug 25 2025 12:00pm to Aug 26 2025 03:00pm:\n"
+                        + "1. [E][ ] project meeting (from: Aug 26 2025 02:00pm to: Aug 26 2025 04:00pm)",
+                t.filterItems("25-08-2025 1200 /to 26-08-2025 1500"));
+
+        try {
+            t.filterItems("26-08-2025 1500 /to 25-08-2025 1500");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nThe range cannot end before it starts.", e.getMessage());
+        }
+    }
+
     @Test
     public void serialize_success() {
         arrayList.add(deadline);
         TaskList t = new TaskList(arrayList);
 
-        assertEquals("deadline | 0 | return book | 2025-08-25T13:50", t.serialize().get(0));
+        assertEquals("1 | deadline | 0 | return book | 2025-08-25T13:50", t.serialize().get(0));
+    }
+
+    @Test
+    public void getChanges_changesRecorded_success() throws InvalidCommandException {
+        arrayList.add(todo);
+        arrayList.add(deadline);
+        TaskList t = new TaskList(arrayList);
+        t.labelItem("2", true);
+        t.deleteItem("1");
+        t.addItem("write essay", "todo");
+
+        assertEquals(3, t.getChanges().size());
+        assertEquals(Change.Type.MARK, t.getChanges().get(0).getType());
+        assertEquals(2, t.getChanges().get(0).getItem().getId());
+        assertEquals(Change.Type.DELETE, t.getChanges().get(1).getType());
+        assertEquals(1, t.getChanges().get(1).getItem().getId());
+        assertEquals(Change.Type.ADD, t.getChanges().get(2).getType());
+        assertEquals(3, t.getChanges().get(2).getItem().getId());
+
+        t.clearChanges();
+        assertTrue(t.getChanges().isEmpty());
+    }
+
+    @Test
+    public void columnar_sameAsTaskList_success() throws InvalidCommandException {
+        arrayList.add(todo);
+        arrayList.add(deadline);
+        arrayList.add(event);
+        TaskList t = new TaskList(arrayList);
+        TaskList columnar = new TaskList(new TaskColumns(arrayList));
+
+        for (TaskList list : new TaskList[] { t, columnar }) {
+            list.labelItem("1", true);
+            list.deleteItem("2");
+            list.addItem("return library book", "todo");
+        }
+        assertEquals(t.showList(), columnar.showList());
+        assertEquals(t.findItems("book"), columnar.findItems("book"));
+        assertEquals(t.filterItems("26-08-2025 1500"), columnar.filterItems("26-08-2025 1500"));
+        assertEquals(t.searchItems("book"), columnar.searchItems("book"));
+
+        try {
+            columnar.addItem("READ BOOK", "todo");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nThis task already exists.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void filterItems_sameDateTimesOtherSpacing_cachedOnce() throws InvalidCommandException {
+        arrayList.add(event);
+        TaskList t = new TaskList(arrayList);
+
+        String range = t.filterItems("25-08-2025 1200 /to 26-08-2025 1500");
+        assertTrue(range == t.filterItems("  25-08-2025 1200   /to 26-08-2025 1500 "));
+        String single = t.filterItems("26-08-2025 1500");
+        assertTrue(single == t.filterItems(" 26-08-2025 1500 "));
+        assertTrue(single != t.filterItems("26-08-2025 1500 /to 26-08-2025 1500"));
+        String found = t.findItems("meeting");
+        assertTrue(found == t.findItems(" meeting "));
+        assertTrue(found != t.findItems("Meeting"));
+    }
+
+    @Test
+    public void findItems_changedAfterCached_notStale() throws InvalidCommandException {
+        arrayList.add(todo);
+        arrayList.add(event);
+        TaskList t = new TaskList(arrayList);
+
+        assertEquals("Here are the items in your list:\n1. [T][ ] read book", t.findItems("book"));
+        String meetings = t.findItems("meeting");
+        t.addItem("return book", "todo");
+        assertEquals("Here are the items in your list:\n1. [T][ ] read book\n2. [T][ ] return book",
+                t.findItems("book"));
+        t.labelItem("1", true);
+        assertEquals("Here are the items in your list:\n1. [T][X] read book\n2. [T][ ] return book",
+                t.findItems("book"));
+        t.deleteItem("3");
+        assertEquals("Here are the items in your list:\n1. [T][X] read book", t.findItems("book"));
+        assertTrue(meetings == t.findItems("meeting"));
+
+        assertEquals("Here are the items in your list matching \"done=true\":\n1. [T][X] read book",
+                t.queryItems("done=true"));
+        t.labelItems("done", false);
+        assertEquals("There is no item in your list matching \"done=true\".", t.queryItems("done=true"));
+    }
+
+    @Test
+    public void deleteItems_invalidSelection_exceptionThrown() {
+        arrayList.add(todo);
+        arrayList.add(deadline);
+        TaskList t = new TaskList(arrayList);
+
+        try {
+            t.deleteItems("1-3");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nInvalid task number.", e.getMessage());
+        }
+
+        try {
+            t.deleteItems("2-1");
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\neg. task delete 3,7,9-20\neg. task delete done", e.getMessage());
+        }
+        assertEquals(2, t.size());
     }
 }
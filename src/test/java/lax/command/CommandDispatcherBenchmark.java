@@ -0,0 +1,274 @@
+package lax.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import lax.command.Parser.NoteCommandList;
+import lax.command.Parser.Prefix;
+import lax.command.Parser.TaskCommandList;
+import lax.exception.InvalidCommandException;
+
+/**
+ * Compares the trie-based <code>CommandDispatcher</code> against the split-based parser that it replaced,
+ * which is kept in <code>SplitParser</code> for the comparison, on a million generated inputs, once with
+ * valid inputs only and once with invalid inputs only.
+ * <p>
+ * Run with "gradlew benchmark -PbenchmarkClass=lax.command.CommandDispatcherBenchmark".
+ */
+public class CommandDispatcherBenchmark {
+    /**
+     * The number of generated inputs of each kind.
+     */
+    private static final int INPUTS = 1_000_000;
+
+    /**
+     * The number of timed runs of each parser, after as many warm-up runs.
+     */
+    private static final int RUNS = 5;
+
+    /**
+     * The valid inputs that are repeated to generate the inputs.
+     */
+    private static final String[] VALID = { "task list", "task list page 2", "task mark 1", "task unmark 3-5",
+        "task todo read book", "task deadline return book /by 23-08-2025 1800", "task find book",
+        "task filter 23-08-2025 1400", "note add buy milk", "note query date>01-09-2025", "help", "bye" };
+
+    /**
+     * The invalid inputs that are repeated to generate the inputs.
+     */
+    private static final String[] INVALID = { "task", "task mark", "task test", "task list all",
+        "task list page x", "note delete", "note test", "help me", "test", "tasks list" };
+
+    /**
+     * Represents the parser of user inputs that splits the input and looks the keywords up through
+     * <code>Enum.valueOf</code>, as the chatbot did before <code>CommandDispatcher</code>.
+     */
+    private static class SplitParser {
+        /**
+         * Splits the input command string input into task, note or general command and parses them into its
+         * corresponding command.
+         *
+         * @throws InvalidCommandException If command prefix is not in <code>Prefix</code> or
+         *                                 <code>GeneralCommandList</code>, or is incomplete.
+         */
+        private static Command parse(String command) throws InvalidCommandException {
+            if (command == null || command.isBlank()) {
+                throw new InvalidCommandException("Empty command");
+            }
+
+            String[] cmd = command.trim().split(" ", 2);
+            assert cmd.length <= 2 : "input should be split into prefix and command details";
+
+            String invalidCmd = "\"" + command + "\"";
+            try {
+                switch (Prefix.valueOf(cmd[0].trim().toUpperCase())) {
+                case TASK -> {
+                    return parseTaskCmd(cmd[1].trim());
+                }
+                case NOTE -> {
+                    return toggleNoteCommand(parseNoteCmd(cmd[1].trim()));
+                }
+                case RUN -> {
+                    return new RunCommand(cmd[1].trim());
+                }
+                case STATS -> {
+                    return new StatsCommand(cmd.length == 1 ? null : cmd[1].trim());
+                }
+                case HELP -> {
+                    if (cmd.length != 1) {
+                        throw new InvalidCommandException(invalidCmd);
+                    }
+                    return new HelpCommand();
+                }
+                case BYE -> {
+                    if (cmd.length != 1) {
+                        throw new InvalidCommandException(invalidCmd);
+                    }
+                    return new ExitCommand();
+                }
+                default -> throw new InvalidCommandException(invalidCmd);
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidCommandException(invalidCmd);
+            }
+        }
+
+        /**
+         * Parses the task command string and outputs the corresponding <code>Command</code>.
+         *
+         * @param command The rest of the command string after removing the prefix "task".
+         * @return The corresponding <code>Command</code> object.
+         * @throws InvalidCommandException If command type is not in <code>TaskCommandList</code> or is incomplete.
+         */
+        private static Command parseTaskCmd(String command) throws InvalidCommandException {
+            String[] cmd = command.trim().split(" ", 2);
+            assert cmd.length <= 2 : "task command should be split into type and task details";
+
+            String invalidCmd = "\"task " + command + "\"";
+            try {
+                switch (TaskCommandList.valueOf(cmd[0].trim().toUpperCase())) {
+                case LIST -> {
+                    return cmd.length == 1 ? new ListCommand() : parsePage(cmd[1].trim());
+                }
+                case MARK, UNMARK -> {
+                    return new LabelCommand(cmd[1].trim(), cmd[0].trim());
+                }
+                case TODO, DEADLINE, EVENT -> {
+                    return new AddCommand(cmd[1].trim(), cmd[0].trim());
+                }
+                case DELETE -> {
+                    return new DeleteCommand(cmd[1].trim());
+                }
+                case FIND -> {
+                    return new FindCommand(cmd[1].trim());
+                }
+                case SEARCH -> {
+                    return new SearchCommand(cmd[1].trim());
+                }
+                case FILTER -> {
+                    return new FilterCommand(cmd[1].trim());
+                }
+                case QUERY -> {
+                    return new QueryCommand(cmd[1].trim());
+                }
+                default -> throw new InvalidCommandException(invalidCmd);
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidCommandException(invalidCmd);
+            }
+        }
+
+        /**
+         * Parses note command string and return the corresponding <code>Command</code>.
+         *
+         * @param command The rest of the command string after removing the prefix "note".
+         * @return The corresponding <code>Command</code> object.
+         * @throws InvalidCommandException If command type is not in <code>NoteCommandList</code> or is incomplete.
+         */
+        private static Command parseNoteCmd(String command) throws InvalidCommandException {
+            String[] cmd = command.trim().split(" ", 2);
+            assert cmd.length <= 2 : "note command should split into type and note details";
+
+            String prefix = "note";
+            String invalidCmd = "\"note " + command + "\"";
+            try {
+                switch (NoteCommandList.valueOf(cmd[0].trim().toUpperCase())) {
+                case LIST -> {
+                    return cmd.length == 1 ? new ListCommand() : parsePage(cmd[1].trim());
+                }
+                case ADD -> {
+                    return new AddCommand(cmd[1].trim(), prefix);
+                }
+                case DELETE -> {
+                    return new DeleteCommand(cmd[1].trim());
+                }
+                case FIND -> {
+                    return new FindCommand(cmd[1].trim());
+                }
+                case SEARCH -> {
+                    return new SearchCommand(cmd[1].trim());
+                }
+                case FILTER -> {
+                    return new FilterCommand(cmd[1].trim());
+                }
+                case QUERY -> {
+                    return new QueryCommand(cmd[1].trim());
+                }
+                default -> throw new InvalidCommandException(invalidCmd);
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidCommandException(invalidCmd);
+            }
+        }
+
+        /**
+         * Parses the details of a list command of the format "page number" into a <code>ListCommand</code>.
+         *
+         * @throws NumberFormatException If the page number is not a number.
+         * @throws IllegalArgumentException If the details are not of the format.
+         */
+        private static Command parsePage(String details) {
+            String[] page = details.split("\\s+");
+            if (page.length != 2 || !page[0].equalsIgnoreCase("page")) {
+                throw new IllegalArgumentException(details);
+            }
+            return new ListCommand(Integer.parseInt(page[1]));
+        }
+
+        /**
+         * Sets the <code>boolean</code> isNoteCommand to true before returning the command.
+         */
+        private static Command toggleNoteCommand(Command command) {
+            command.setNoteCommand(true);
+            return command;
+        }
+    }
+
+    /**
+     * Generates the inputs by repeating the samples, with a number appended to the valid ones.
+     */
+    private static List<String> generate(String[] samples, boolean isValid) {
+        List<String> inputs = new ArrayList<>(INPUTS);
+        for (int i = 0; i < INPUTS; i++) {
+            String sample = samples[i % samples.length];
+            inputs.add(isValid && sample.contains(" ") && !sample.contains("list") ? sample + i : sample);
+        }
+        return inputs;
+    }
+
+    /**
+     * Parses the input through <code>SplitParser</code>, the same way as <code>Lax.getResponse</code> did.
+     *
+     * @return <code>true</code> if the input is valid, <code>false</code> otherwise.
+     */
+    private static boolean parse(String input) {
+        try {
+            return SplitParser.parse(input) != null;
+        } catch (InvalidCommandException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses every input through the parser.
+     *
+     * @return The time taken in milliseconds.
+     */
+    private static long time(List<String> inputs, Predicate<String> parser) {
+        long start = System.nanoTime();
+        long valid = inputs.stream().filter(parser).count();
+        assert valid == 0 || valid == INPUTS : "every input should be either valid or invalid";
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Times both parsers on the inputs and prints the average time taken by each of them.
+     */
+    private static void compare(String kind, List<String> inputs) {
+        Predicate<String> split = CommandDispatcherBenchmark::parse;
+        Predicate<String> trie = input -> CommandDispatcher.dispatch(input).isValid();
+        for (int i = 0; i < RUNS; i++) {
+            time(inputs, split);
+            time(inputs, trie);
+        }
+
+        long splitTotal = 0;
+        long trieTotal = 0;
+        for (int i = 0; i < RUNS; i++) {
+            splitTotal += time(inputs, split);
+            trieTotal += time(inputs, trie);
+        }
+
+        System.out.println(kind + " SplitParser.parse:           " + splitTotal / RUNS + " ms");
+        System.out.println(kind + " CommandDispatcher.dispatch:  " + trieTotal / RUNS + " ms");
+    }
+
+    /**
+     * Runs the benchmark on the valid and the invalid inputs.
+     */
+    public static void main(String[] args) {
+        compare("valid  ", generate(VALID, true));
+        compare("invalid", generate(INVALID, false));
+    }
+}
@@ -0,0 +1,120 @@
+package lax.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import lax.exception.Result;
+
+public class CommandDispatcherTest {
+    private static final Map<String, Class<? extends Command>> VALID = Map.ofEntries(
+            Map.entry("help", HelpCommand.class), Map.entry("HeLp", HelpCommand.class),
+            Map.entry("bye", ExitCommand.class), Map.entry("  bye  ", ExitCommand.class),
+            Map.entry("task list", ListCommand.class), Map.entry("   task    list   ", ListCommand.class),
+            Map.entry("task list page 2", ListCommand.class), Map.entry("task list PAGE  -3", ListCommand.class),
+            Map.entry("task mark 1", LabelCommand.class), Map.entry("task MARK 1-3", LabelCommand.class),
+            Map.entry("task unmark done", LabelCommand.class), Map.entry("task todo read book", AddCommand.class),
+            Map.entry("task ToDo   read book  ", AddCommand.class),
+            Map.entry("task deadline return book /by 23-08-2025 1800", AddCommand.class),
+            Map.entry("task event project meeting /from 23-08-2025 1400 /to 23-08-2025 1600", AddCommand.class),
+            Map.entry("task delete 1", DeleteCommand.class), Map.entry("task find book", FindCommand.class),
+            Map.entry("task search return book", SearchCommand.class),
+            Map.entry("task filter 23-08-2025 1400", FilterCommand.class),
+            Map.entry("task query type=todo done=false", QueryCommand.class),
+            Map.entry("note list", ListCommand.class), Map.entry("note list page 1", ListCommand.class),
+            Map.entry("note add the new book I'm reading is interesting", AddCommand.class),
+            Map.entry("note delete 1", DeleteCommand.class), Map.entry("note find book", FindCommand.class),
+            Map.entry("note search book", SearchCommand.class),
+            Map.entry("note filter 23-08-2025", FilterCommand.class),
+            Map.entry("note query date>01-09-2025", QueryCommand.class), Map.entry("stats", StatsCommand.class),
+            Map.entry("STATS  out.txt", StatsCommand.class), Map.entry("run script.txt", RunCommand.class),
+            Map.entry("RUN  data/a b.txt", RunCommand.class));
+
+    private static final List<String> INVALID = List.of("help me", "bye now", "task list page x", "task list page",
+            "task list pages 2", "task list page 2 3", "task list page 99999999999", "task list all", "task mark",
+            "task test", "task", "task\tlist", "tasks list", "tas list", "note delete", "note test", "note list all",
+            "note", "run", "test", "list", "task add book", "note todo book", "t\u00e1sk list");
+
+    @Test
+    public void dispatch_validCommand_success() {
+        VALID.forEach((input, type) -> {
+            Result<Command> result = CommandDispatcher.dispatch(input);
+            assertTrue(result.isValid(), input);
+            assertEquals(type, result.getValue().getClass(), input);
+            assertEquals(input.trim().toLowerCase().startsWith("note"), result.getValue().getNoteCommand(), input);
+        });
+    }
+
+    @Test
+    public void dispatch_invalidCommands_errorReturned() {
+        for (String input : INVALID) {
+            Result<Command> result = CommandDispatcher.dispatch(input);
+            assertFalse(result.isValid(), input);
+            assertEquals("Invalid command.\n\"" + input + "\"", result.getMessage(), input);
+        }
+
+        assertEquals("Invalid command.\nEmpty command", CommandDispatcher.dispatch("").getMessage());
+        assertEquals("Invalid command.\nEmpty command", CommandDispatcher.dispatch("   ").getMessage());
+    }
+
+    @Test
+    public void dispatch_invalidCommand_errorReturned() {
+        Result<Command> result = CommandDispatcher.dispatch("task test");
+        assertFalse(result.isValid());
+        assertEquals("\"task test\"", result.getError());
+        assertEquals("Invalid command.\n\"task test\"", result.getMessage());
+
+        result = CommandDispatcher.dispatch(null);
+        assertEquals("Empty command", result.getError());
+    }
+
+    @Test
+    public void dispatch_noteCommand_success() {
+        Result<Command> result = CommandDispatcher.dispatch("note add read later");
+        if (!result.isValid()) {
+            fail();
+        }
+        assertInstanceOf(AddCommand.class, result.getValue());
+        assertTrue(result.getValue().getNoteCommand());
+    }
+
+    @Test
+    public void dispatchAll_pipelinedCommands_success() {
+        List<Result<Command>> results = CommandDispatcher.dispatchAll("task todo a; task todo b; TASK mark 1");
+        assertEquals(3, results.size());
+        assertInstanceOf(AddCommand.class, results.get(0).getValue());
+        assertInstanceOf(AddCommand.class, results.get(1).getValue());
+        assertInstanceOf(LabelCommand.class, results.get(2).getValue());
+
+        results = CommandDispatcher.dispatchAll("note add buy milk; eggs;bye");
+        assertEquals(2, results.size());
+        assertInstanceOf(ExitCommand.class, results.get(1).getValue());
+        assertEquals(1, CommandDispatcher.dispatchAll("task todo a;").size());
+    }
+
+    @Test
+    public void dispatchAll_prefixWordInDetails_notSplit() {
+        for (String input : List.of("note add call mom; bye for now", "task todo buy milk; note the price",
+                "note add plan; task list all; help me", "task todo pay; run")) {
+            List<Result<Command>> results = CommandDispatcher.dispatchAll(input);
+            assertEquals(1, results.size(), input);
+            assertTrue(results.get(0).getValue() instanceof AddCommand, input);
+        }
+    }
+
+    @Test
+    public void dispatchAll_invalidCommand_errorReturned() {
+        List<Result<Command>> results = CommandDispatcher.dispatchAll("task test; task todo a; help");
+        assertEquals(3, results.size());
+        assertEquals("Invalid command.\n\"task test\"", results.get(0).getMessage());
+        assertTrue(results.get(1).isValid());
+        assertInstanceOf(HelpCommand.class, results.get(2).getValue());
+    }
+}
@@ -1,6 +1,7 @@
 package lax.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import lax.catalogue.Catalogue;
 import lax.catalogue.TaskList;
 import lax.exception.InvalidCommandException;
+import lax.exception.Result;
 import lax.storage.Storage;
 import lax.storage.TaskStorage;
 import lax.ui.Ui;
@@ -38,4 +40,40 @@ public class DeleteCommandTest {
                         Now you have 0 items in the list.""",
                 delete.execute(catalogue, ui, storage));
     }
+
+    @Test
+    public void execute_selection_success() throws InvalidCommandException, IOException {
+        for (int i = 1; i <= 10; i++) {
+            catalogue.addItem("task " + i, "todo");
+        }
+        catalogue.labelItem("10", true);
+
+        assertEquals("""
+                        Noted. I've removed these 4 items:
+                          [T][ ] task 2
+                          [T][ ] task 4
+                          [T][ ] task 5
+                          [T][ ] task 6
+                        Now you have 6 items in the list.""",
+                new DeleteCommand("2,4-6").execute(catalogue, ui, storage));
+        assertEquals("""
+                        Noted. I've removed this item:
+                          [T][X] task 10
+                        Now you have 5 items in the list.""",
+                new DeleteCommand("done").execute(catalogue, ui, storage));
+        assertEquals("There is no item to be removed.", new DeleteCommand("done").execute(catalogue, ui, storage));
+    }
+
+    @Test
+    public void run_invalidNumber_error() throws InvalidCommandException, IOException {
+        catalogue.addItem("test task", "todo");
+
+        for (String number : new String[] { "2", "0", "x", "99999999999", "1-x", "3,1" }) {
+            Result<String> reply = new DeleteCommand(number).run(catalogue, ui, storage);
+            assertFalse(reply.isValid(), number);
+        }
+        assertEquals("Invalid command.\nInvalid task number.",
+                new DeleteCommand("2").run(catalogue, ui, storage).getMessage());
+        assertEquals(1, catalogue.size());
+    }
 }
@@ -34,30 +34,37 @@ public class HelpCommandTest {
         assertEquals("""
                         List of Commands:
                         >>> general command:
+                        - run "script file"
+                        - stats ["file"]
                         - help
                         - bye
+                        - "command"; "command" ... (a failed command is skipped)
 
                         zzzzz...
                         >>> task command:
                         (add a prefix "task" in front)
-                        - list
-                        - mark "task number"
-                        - unmark "task number"
+                        - list [page "page number"]
+                        - mark "task numbers"
+                        - unmark "task numbers"
                         - todo "task name"
                         - deadline "task name" /by "due DateTime"
                         - event "task name" /from "start DateTime" /to "end DateTime"
-                        - delete "task number"
+                        - delete "task numbers"
                         - find "task description"
-                        - filter "DateTime"
+                        - search "keywords"
+                        - filter "DateTime" [/to "end DateTime"]
+                        - query "field" "operator" "value" ...
 
                         zzzzz...
                         >>> note command:
                         (add a prefix "note" in front)
-                        - list
+                        - list [page "page number"]
                         - add "note"
-                        - delete "note number"
+                        - delete "note numbers"
                         - find "note description"
-                        - filter "DateTime\"""",
+                        - search "keywords"
+                        - filter "Date" [/to "end Date"]
+                        - query "field" "operator" "value" ...\"""",
                 help.execute(catalogue, ui, storage));
     }
 }
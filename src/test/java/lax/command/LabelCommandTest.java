@@ -38,4 +38,26 @@ public class LabelCommandTest {
                           [T][X] testing 1, 2, 3""",
                 label.execute(catalogue, ui, storage));
     }
+
+    @Test
+    public void execute_selection_success() throws InvalidCommandException, IOException {
+        catalogue.addItem("test task", "todo");
+        catalogue.addItem("testing 1, 2, 3", "todo");
+        catalogue.addItem("read book", "todo");
+        catalogue.labelItem("2", true);
+
+        assertEquals("""
+                        Nice! I've marked these 2 items as done:
+                          [T][X] test task
+                          [T][X] read book""",
+                new LabelCommand("1-3", "mark").execute(catalogue, ui, storage));
+        assertEquals("""
+                        OK, I've marked these 3 items as not done yet:
+                          [T][ ] test task
+                          [T][ ] testing 1, 2, 3
+                          [T][ ] read book""",
+                new LabelCommand("done", "unmark").execute(catalogue, ui, storage));
+        assertEquals("There is no item to be marked as not done.",
+                new LabelCommand("1,3", "unmark").execute(catalogue, ui, storage));
+    }
 }
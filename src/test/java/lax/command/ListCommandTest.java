@@ -1,6 +1,7 @@
 package lax.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -33,4 +34,22 @@ public class ListCommandTest {
 
         assertEquals("There is no item in your list.", list.execute(catalogue, ui, storage));
     }
+
+    @Test
+    public void execute_page_success() throws InvalidCommandException, IOException {
+        for (int i = 1; i <= 21; i++) {
+            catalogue.addItem("task " + i, "todo");
+        }
+
+        assertEquals("Here are the items in your list (page 2 of 2):\n21. [T][ ] task 21",
+                new ListCommand(2).execute(catalogue, ui, storage));
+        assertEquals(21, new ListCommand().execute(catalogue, ui, storage).split("\n").length);
+
+        try {
+            new ListCommand(3).execute(catalogue, ui, storage);
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nInvalid page number.\nThere are 2 pages.", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package lax.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import lax.catalogue.Catalogue;
+import lax.catalogue.TaskList;
+import lax.exception.InvalidCommandException;
+import lax.storage.Storage;
+import lax.storage.TaskStorage;
+import lax.ui.Ui;
+
+public class QueryCommandTest {
+    private Ui ui;
+    private Storage storage;
+    private Catalogue catalogue;
+
+    @BeforeEach
+    public void setup() {
+        ui = new Ui();
+        storage = new TaskStorage("./data/task.txt");
+        catalogue = new TaskList(new ArrayList<>());
+    }
+
+    @Test
+    public void execute_success() throws InvalidCommandException, IOException {
+        catalogue.addItem("read book", "todo");
+        catalogue.addItem("write report /by 01-01-2099 1200", "deadline");
+        catalogue.addItem("review report /by 01-01-2098 1200", "deadline");
+        catalogue.labelItem("3", true);
+
+        assertEquals("Here are the items in your list matching \"type=deadline done=false name~report\":\n"
+                        + "1. [D][ ] write report (by: Jan 01 2099 12:00pm)",
+                new QueryCommand("type=deadline done=false name~report").execute(catalogue, ui, storage));
+        assertEquals("Here are the items in your list matching \"due<01-06-2098\":\n"
+                        + "1. [D][X] review report (by: Jan 01 2098 12:00pm)",
+                new QueryCommand("due<01-06-2098").execute(catalogue, ui, storage));
+    }
+
+    @Test
+    public void execute_invalidClause_exceptionThrown() {
+        try {
+            new QueryCommand("owner=me").execute(catalogue, ui, storage);
+            fail();
+        } catch (InvalidCommandException e) {
+            assertEquals("Invalid command.\nNo such field \"owner\".\n"
+                    + "eg. task query type=deadline done=false due<01-12-2025 name~report", e.getMessage());
+        }
+    }
+}
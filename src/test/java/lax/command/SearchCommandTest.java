@@ -0,0 +1,52 @@
+package lax.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import lax.catalogue.Catalogue;
+import lax.catalogue.TaskList;
+import lax.exception.InvalidCommandException;
+import lax.storage.Storage;
+import lax.storage.TaskStorage;
+import lax.ui.Ui;
+
+public class SearchCommandTest {
+    private Ui ui;
+    private Storage storage;
+    private Catalogue catalogue;
+
+    @BeforeEach
+    public void setup() {
+        ui = new Ui();
+        storage = new TaskStorage("./data/task.txt");
+        catalogue = new TaskList(new ArrayList<>());
+    }
+
+    @Test
+    public void execute_success() throws InvalidCommandException, IOException {
+        catalogue.addItem("read book", "todo");
+        catalogue.addItem("buy milk", "todo");
+        catalogue.addItem("return library book", "todo");
+        catalogue.addItem("read news", "todo");
+        Command search = new SearchCommand("Read Book");
+
+        assertEquals("Here are the items in your list matching \"Read Book\":\n"
+                        + "1. [T][ ] read book\n"
+                        + "2. [T][ ] read news\n"
+                        + "3. [T][ ] return library book",
+                search.execute(catalogue, ui, storage));
+    }
+
+    @Test
+    public void execute_noMatch_success() throws InvalidCommandException, IOException {
+        Command search = new SearchCommand("book");
+
+        assertEquals("There is no item in your list matching \"book\".",
+                search.execute(catalogue, ui, storage));
+    }
+}
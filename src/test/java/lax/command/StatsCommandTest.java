@@ -0,0 +1,56 @@
+package lax.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lax.catalogue.Catalogue;
+import lax.catalogue.TaskList;
+import lax.stats.Stats;
+import lax.storage.Storage;
+import lax.storage.TaskStorage;
+import lax.ui.Ui;
+
+public class StatsCommandTest {
+    @TempDir
+    Path tempDir;
+
+    private Ui ui;
+    private Storage storage;
+    private Catalogue catalogue;
+
+    @BeforeEach
+    public void setup() {
+        ui = new Ui();
+        storage = new TaskStorage("./data/task.txt");
+        catalogue = new TaskList(new ArrayList<>());
+        Stats.reset();
+    }
+
+    @Test
+    public void execute_success() throws IOException {
+        Stats.executionOf(Command.CommandType.ADD).record(2_000_000);
+
+        String stats = new StatsCommand(null).execute(catalogue, ui, storage);
+        assertTrue(stats.startsWith("Latencies (ms):\ncommand   count       p50"), stats);
+        assertTrue(stats.contains("\nadd           1     2.000     2.000     2.000     2.000"), stats);
+        assertTrue(stats.contains("\n\nStorage:\nwrites        0"), stats);
+    }
+
+    @Test
+    public void execute_file_saved() throws IOException {
+        Path file = tempDir.resolve("stats/stats.txt");
+
+        String stats = new StatsCommand(file.toString()).execute(catalogue, ui, storage);
+        assertTrue(stats.endsWith("The stats are saved to " + file + "."), stats);
+        assertEquals(Stats.summarise() + System.lineSeparator(), Files.readString(file));
+    }
+}
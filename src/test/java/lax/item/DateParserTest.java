@@ -0,0 +1,66 @@
+package lax.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+
+public class DateParserTest {
+    @Test
+    public void parseDateTime_sameAsFormatter_success() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy HHmm");
+        LocalDateTime dateTime = LocalDateTime.parse("2024-01-01T00:00");
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(dateTime, DateParser.parseDateTime(dateTime.format(formatter)));
+            dateTime = dateTime.plusMinutes(487);
+        }
+    }
+
+    @Test
+    public void parseDateTime_invalid_null() {
+        assertNull(DateParser.parseDateTime("23/08/2025 1800"));
+        assertNull(DateParser.parseDateTime("23-08-2025 18:00"));
+        assertNull(DateParser.parseDateTime("23-08-2025 2400"));
+        assertNull(DateParser.parseDateTime("23-08-2025 1860"));
+        assertNull(DateParser.parseDateTime("31-02-2025 1800"));
+        assertNull(DateParser.parseDateTime("29-02-2025 1800"));
+        assertNull(DateParser.parseDateTime("2025-08-23 1800"));
+        assertNull(DateParser.parseDateTime(" 23-08-2025 1800"));
+        assertNull(DateParser.parseDateTime(""));
+    }
+
+    @Test
+    public void errorIndex_sameAsFormatter_success() {
+        assertEquals(2, DateParser.errorIndex("23/08/2025 1800"));
+        assertEquals(10, DateParser.errorIndex("23-08-2025T1800"));
+        assertEquals(13, DateParser.errorIndex("23-08-2025 18:00"));
+        assertEquals(12, DateParser.errorIndex("23-08-2025 1"));
+        assertEquals(15, DateParser.errorIndex("23-08-2025 18000"));
+        assertEquals(-1, DateParser.errorIndex("31-02-2025 1800"));
+    }
+
+    @Test
+    public void parseDate_success() {
+        assertEquals(LocalDate.parse("2024-02-29"), DateParser.parseDate("29-02-2024"));
+        assertNull(DateParser.parseDate("29-02-2100"));
+        assertNull(DateParser.parseDate("00-01-2025"));
+        assertNull(DateParser.parseDate("01-13-2025"));
+        assertNull(DateParser.parseDate("01-01-0000"));
+        assertNull(DateParser.parseDate("1-1-2025"));
+    }
+
+    @Test
+    public void parseIsoDateTime_success() {
+        String line = "event | 0 | meeting | 2025-08-26T13:24 | 2025-08-27T04:56:30";
+        assertEquals(LocalDateTime.parse("2025-08-26T13:24"), DateParser.parseIsoDateTime(line, 22, 38));
+        assertEquals(LocalDateTime.parse("2025-08-27T04:56:30"), DateParser.parseIsoDateTime(line, 41, 60));
+        assertEquals(LocalDate.parse("2025-08-26"), DateParser.parseIsoDate(line, 22, 32));
+        assertNull(DateParser.parseIsoDateTime("2025-08-26 13:24", 0, 16));
+        assertNull(DateParser.parseIsoDateTime("2025-08-26T13:24-30", 0, 19));
+        assertNull(DateParser.parseIsoDate("2025-02-30", 0, 10));
+    }
+}
@@ -0,0 +1,36 @@
+package lax.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public class DisplayFormatTest {
+    @Test
+    public void formatDateTime_sameAsFormatter_success() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy hh:mma", Locale.ENGLISH);
+        LocalDateTime dateTime = LocalDateTime.parse("2025-01-01T00:00");
+        for (int i = 0; i < 2000; i++) {
+            String expected = dateTime.format(formatter).replace("AM", "am").replace("PM", "pm");
+            assertEquals(expected, DisplayFormat.formatDateTime(dateTime));
+            dateTime = dateTime.plusMinutes(263);
+        }
+    }
+
+    @Test
+    public void formatDateTime_noonAndMidnight_success() {
+        assertEquals("Aug 26 2025 12:00am", DisplayFormat.formatDateTime(LocalDateTime.parse("2025-08-26T00:00")));
+        assertEquals("Aug 26 2025 12:32pm", DisplayFormat.formatDateTime(LocalDateTime.parse("2025-08-26T12:32")));
+        assertEquals("Dec 31 0999 11:59pm", DisplayFormat.formatDateTime(LocalDateTime.parse("0999-12-31T23:59")));
+    }
+
+    @Test
+    public void formatDate_success() {
+        assertEquals("Sep 08 2025", DisplayFormat.formatDate(LocalDate.parse("2025-09-08")));
+        assertEquals("Jan 01 0050", DisplayFormat.formatDate(LocalDate.parse("0050-01-01")));
+    }
+}
@@ -0,0 +1,45 @@
+package lax.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void bucketOf_everyLatency_withinBucket() {
+        long[] latencies = { 0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456_789, Long.MAX_VALUE };
+        for (long latency : latencies) {
+            int bucket = LatencyHistogram.bucketOf(latency);
+            assertTrue(LatencyHistogram.lowestOf(bucket) <= latency, String.valueOf(latency));
+            assertTrue(LatencyHistogram.highestOf(bucket) >= latency, String.valueOf(latency));
+            assertTrue(LatencyHistogram.highestOf(bucket) - LatencyHistogram.lowestOf(bucket) <= latency / 16,
+                    String.valueOf(latency));
+        }
+    }
+
+    @Test
+    public void getPercentile_recorded_success() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_500.0, histogram.getMean());
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 50_000 && median <= 50_000 + 50_000 / 16, String.valueOf(median));
+        assertEquals(100_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void getPercentile_empty_zero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
@@ -0,0 +1,98 @@
+package lax.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lax.catalogue.TaskList;
+import lax.item.task.Deadline;
+import lax.item.task.Event;
+import lax.item.task.Task;
+import lax.item.task.Todo;
+import lax.stats.Stats;
+
+public class BinarySnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void write_read_success() throws IOException {
+        Path path = tempDir.resolve("task.txt");
+        BinarySnapshot.write(path, List.of(
+                new BinarySnapshot.Entry(1, (byte) 0, true, "read book", 0, 0),
+                new BinarySnapshot.Entry(3, (byte) 2, false, "caf\u00e9 meeting", 29_000_000, 29_000_120)));
+
+        assertTrue(BinarySnapshot.isBinary(path));
+        List<BinarySnapshot.Entry> entries = BinarySnapshot.read(path);
+        assertEquals(2, entries.size());
+        assertEquals("read book", entries.get(0).getText());
+        assertTrue(entries.get(0).isFlagged());
+        assertEquals("caf\u00e9 meeting", entries.get(1).getText());
+        assertEquals(3, entries.get(1).getId());
+        assertEquals(29_000_120, entries.get(1).getSecond());
+    }
+
+    @Test
+    public void write_bytesCounted_success() throws IOException {
+        Path path = tempDir.resolve("task.txt");
+        Stats.reset();
+        BinarySnapshot.write(path, List.of(new BinarySnapshot.Entry(1, (byte) 0, false, "read book", 0, 0)));
+        assertEquals(Files.size(path), Stats.WRITES.getBytes());
+    }
+
+    @Test
+    public void read_truncatedFile_exceptionThrown() throws IOException {
+        Path path = tempDir.resolve("task.txt");
+        BinarySnapshot.write(path, List.of(new BinarySnapshot.Entry(1, (byte) 0, false, "read book", 0, 0)));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try {
+            BinarySnapshot.read(path);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Truncated database file"));
+        }
+    }
+
+    @Test
+    public void isBinary_textFile_false() throws IOException {
+        Path path = tempDir.resolve("task.txt");
+        Files.writeString(path, "todo | 0 | read book\ntodo | 1 | return book\n");
+        assertFalse(BinarySnapshot.isBinary(path));
+    }
+
+    @Test
+    public void load_migrateTextToBinary_success() throws IOException {
+        Path path = tempDir.resolve("task.txt");
+        Files.writeString(path, "todo | 1 | read book\n"
+                + "deadline | 0 | return book | 2025-08-26T13:24\n"
+                + "event | 0 | project meeting | 2025-08-26T14:00 | 2025-08-26T16:00\n");
+
+        TaskStorage storage = new TaskStorage(path.toString());
+        storage.setFormat(Storage.Format.BINARY);
+        TaskList taskList = storage.loadTask();
+        assertTrue(BinarySnapshot.isBinary(path));
+
+        TaskList migrated = new TaskStorage(path.toString()).loadTask();
+        assertEquals(taskList.showList(), migrated.showList());
+
+        ArrayList<Task> expected = new ArrayList<>(List.of(new Todo("read book", true),
+                new Deadline("return book", LocalDateTime.parse("2025-08-26T13:24")),
+                new Event("project meeting", LocalDateTime.parse("2025-08-26T14:00"),
+                        LocalDateTime.parse("2025-08-26T16:00"))));
+        assertEquals(expected, migrated.getItems());
+    }
+}
@@ -0,0 +1,47 @@
+package lax.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournalTest {
+    @TempDir
+    Path tempDir;
+
+    private Journal journal;
+
+    @BeforeEach
+    public void setup() {
+        journal = new Journal(tempDir.resolve("task.txt"));
+    }
+
+    @Test
+    public void getPath_besideSnapshot_success() {
+        assertEquals(tempDir.resolve("task.txt.journal"), journal.getPath());
+    }
+
+    @Test
+    public void append_recordsInOrder_success() throws IOException {
+        journal.append(Journal.Operation.ADD, "todo | 0 | read book");
+        journal.append(Journal.Operation.MARK, "0");
+        journal.append(Journal.Operation.DELETE, "0");
+
+        assertEquals(List.of("add | todo | 0 | read book", "mark | 0", "delete | 0"), journal.readRecords());
+    }
+
+    @Test
+    public void clear_success() throws IOException {
+        journal.append(Journal.Operation.UNMARK, "1");
+        journal.clear();
+
+        assertFalse(journal.exists());
+        assertEquals(0, journal.readRecords().size());
+    }
+}
@@ -0,0 +1,97 @@
+package lax.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import lax.item.task.Task;
+
+/**
+ * Compares the single-pass <code>LineParser</code> against the split-based <code>TaskStorage.createTask</code>
+ * on a generated task file of a million lines.
+ * <p>
+ * Run with "gradlew benchmark -PbenchmarkClass=lax.storage.LineParserBenchmark".
+ */
+public class LineParserBenchmark {
+    /**
+     * The number of lines in the generated file.
+     */
+    private static final int LINES = 1_000_000;
+
+    /**
+     * The number of timed runs of each parser, after as many warm-up runs.
+     */
+    private static final int RUNS = 5;
+
+    /**
+     * Generates the task file with an even mix of todos, deadlines and events.
+     */
+    private static Path generate() throws IOException {
+        Path path = Files.createTempFile("lax-benchmark", ".txt");
+        LocalDateTime dateTime = LocalDateTime.parse("2025-08-26T13:24");
+        List<String> lines = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            LocalDateTime due = dateTime.plusMinutes(i);
+            switch (i % 3) {
+            case 0 -> lines.add("todo | " + (i % 2) + " | read book " + i);
+            case 1 -> lines.add("deadline | " + (i % 2) + " | return book " + i + " | " + due);
+            default -> lines.add("event | " + (i % 2) + " | meeting " + i + " | " + due + " | " + due.plusHours(2));
+            }
+        }
+        Files.write(path, lines);
+        return path;
+    }
+
+    /**
+     * Loads every line of the file through the parser the same way as <code>Storage.load</code>.
+     *
+     * @return The time taken in milliseconds.
+     */
+    private static long time(Path path, Function<String, Task> parser) throws IOException {
+        long start = System.nanoTime();
+        try (Stream<String> lines = Files.lines(path)) {
+            long count = lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(parser)
+                    .filter(Objects::nonNull)
+                    .count();
+            assert count == LINES : "every line should be parsed";
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Runs the benchmark and prints the average time taken by each parser.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = generate();
+        TaskStorage storage = new TaskStorage(path.toString());
+        Function<String, Task> split = storage::createTask;
+        Function<String, Task> singlePass = LineParser::parseTask;
+
+        try {
+            for (int i = 0; i < RUNS; i++) {
+                time(path, split);
+                time(path, singlePass);
+            }
+
+            long splitTotal = 0;
+            long singlePassTotal = 0;
+            for (int i = 0; i < RUNS; i++) {
+                splitTotal += time(path, split);
+                singlePassTotal += time(path, singlePass);
+            }
+
+            System.out.println("TaskStorage.createTask: " + splitTotal / RUNS + " ms");
+            System.out.println("LineParser.parseTask:   " + singlePassTotal / RUNS + " ms");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
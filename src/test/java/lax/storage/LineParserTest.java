@@ -0,0 +1,70 @@
+package lax.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import lax.item.task.Deadline;
+import lax.item.task.Event;
+import lax.item.task.Todo;
+
+public class LineParserTest {
+    @Test
+    public void parseTask_validLine_success() {
+        assertEquals(new Todo("Read book", true), LineParser.parseTask("todo | 1 | Read book"));
+        assertEquals(new Deadline("Submit report", false, LocalDateTime.parse("2025-08-26T13:24")),
+                LineParser.parseTask("DEADLINE|0|Submit report|2025-08-26T13:24"));
+        assertEquals(new Event("Conference", true, LocalDateTime.parse("2025-08-26T13:24"),
+                        LocalDateTime.parse("2025-08-27T04:56:30")),
+                LineParser.parseTask("event | 1 | Conference | 2025-08-26T13:24 | 2025-08-27T04:56:30"));
+    }
+
+    @Test
+    public void parseTask_withId_idRestored() {
+        assertEquals(12, LineParser.parseTask("12 | todo | 1 | Read book").getId());
+        assertEquals("Read book", LineParser.parseTask("12 | todo | 1 | Read book").getName());
+        assertEquals(0, LineParser.parseTask("todo | 1 | Read book").getId());
+        assertNull(LineParser.parseTask("12"));
+        assertNull(LineParser.parseTask("12 | 13 | todo | 1 | Read book"));
+    }
+
+    @Test
+    public void parseTask_invalidLine_null() {
+        assertNull(LineParser.parseTask(""));
+        assertNull(LineParser.parseTask("task | 1 | Read book"));
+        assertNull(LineParser.parseTask("todo | 1 |  "));
+        assertNull(LineParser.parseTask("deadline | 1 | Submit report |"));
+        assertNull(LineParser.parseTask("deadline | 0 | Submit report | 2025-08-26 13:24"));
+        assertNull(LineParser.parseTask("deadline | 0 | Submit report | 2025-02-30T13:24"));
+        assertNull(LineParser.parseTask("deadline | 0 | Submit report | 2025-08-26T24:00"));
+        assertNull(LineParser.parseTask("event | 1 | Conference | | 2025-08-26T13:24"));
+        assertNull(LineParser.parseTask("event | 1 | Conference | 2025-08-26T13:24"));
+    }
+
+    @Test
+    public void parseNote_validLine_success() {
+        assertEquals("[Sep 15 2025] buy milk | eggs",
+                LineParser.parseNote("2025-09-15 | buy milk | eggs").toString());
+        assertEquals(LocalDate.of(2024, 2, 29), LineParser.parseNote("2024-02-29|leap day").getDate());
+    }
+
+    @Test
+    public void parseNote_withId_idRestored() {
+        assertEquals(3, LineParser.parseNote("3 | 2025-09-15 | buy milk").getId());
+        assertEquals("buy milk", LineParser.parseNote("3 | 2025-09-15 | buy milk").getDescription());
+        assertNull(LineParser.parseNote("3 | buy milk"));
+    }
+
+    @Test
+    public void parseNote_invalidLine_null() {
+        assertNull(LineParser.parseNote(" | Meeting notes"));
+        assertNull(LineParser.parseNote("2025/09/15 | Meeting notes"));
+        assertNull(LineParser.parseNote("2025-09-15 |   "));
+        assertNull(LineParser.parseNote("2025-09-15"));
+        assertNull(LineParser.parseNote("2025-02-29 | not a leap day"));
+    }
+}
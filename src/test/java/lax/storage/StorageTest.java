@@ -1,19 +1,29 @@
 package lax.storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import lax.catalogue.ItemTree;
 import lax.catalogue.NoteList;
+import lax.catalogue.TaskList;
+import lax.exception.InvalidCommandException;
 import lax.item.notes.Note;
 
 public class StorageTest {
@@ -29,7 +39,7 @@ public class StorageTest {
 
     @Test
     public void load_fileDoesntExist_success() throws IOException {
-        assertEquals(0, new Storage(filePath).load(new ArrayList<>(), Note::new).size());
+        assertEquals(0, new Storage(filePath).load(new ItemTree<>(), Note::new).size());
     }
 
     @Test
@@ -44,7 +54,7 @@ public class StorageTest {
         file.write("note 2");
         file.close();
 
-        assertEquals(2, new Storage(filePath).load(new ArrayList<>(), Note::new).size());
+        assertEquals(2, new Storage(filePath).load(new ItemTree<>(), Note::new).size());
     }
 
     @Test
@@ -68,7 +78,7 @@ public class StorageTest {
             return new Note(line);
         };
 
-        assertEquals(2, new Storage(filePath).load(new ArrayList<>(), parseLine).size());
+        assertEquals(2, new Storage(filePath).load(new ItemTree<>(), parseLine).size());
     }
 
     @Test
@@ -84,6 +94,297 @@ public class StorageTest {
         }
         new Storage(filePath).saveTask(notes);
 
-        assertEquals(2, new Storage(filePath).load(new ArrayList<>(), Note::new).size());
+        assertEquals(2, new Storage(filePath).load(new ItemTree<>(), Note::new).size());
+    }
+
+    @Test
+    public void load_replayJournal_success() throws IOException, InvalidCommandException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        FileWriter file = new FileWriter(filePath);
+        file.write("2025-09-15 | note 1\n");
+        file.write("2025-09-15 | note 2\n");
+        file.close();
+
+        NotesStorage storage = new NotesStorage(filePath);
+        storage.setJournaled(true);
+        NoteList notes = storage.loadNotes();
+        notes.addItem("note 3", "note");
+        storage.saveChanges(notes);
+        notes.deleteItem("1");
+        storage.saveChanges(notes);
+
+        assertEquals(List.of("add | " + notes.serialize().get(1), "delete | 1"),
+                new Journal(Path.of(filePath)).readRecords());
+        assertEquals(notes.serialize(), new NotesStorage(filePath).loadNotes().serialize());
+    }
+
+    @Test
+    public void load_savedWithoutIds_idsSavedAndKept() throws IOException, InvalidCommandException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        Files.write(Path.of(filePath), List.of("2025-09-15 | note 1", "2025-09-15 | note 2", "2025-09-15 | note 3"));
+        NotesStorage storage = new NotesStorage(filePath);
+        NoteList notes = storage.loadNotes();
+        assertEquals(List.of("1 | 2025-09-15 | note 1", "2 | 2025-09-15 | note 2", "3 | 2025-09-15 | note 3"),
+                Files.readAllLines(Path.of(filePath)));
+
+        notes.deleteItem("1");
+        storage.saveChanges(notes);
+        notes.addItem("note 4", "note");
+        storage.saveChanges(notes);
+        NoteList reloaded = new NotesStorage(filePath).loadNotes();
+
+        assertEquals(List.of(2, 3, 4), reloaded.getItems().stream().map(Note::getId).toList());
+    }
+
+    @Test
+    public void load_binaryWithIds_idsKept() throws IOException, InvalidCommandException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        NotesStorage storage = new NotesStorage(filePath);
+        storage.setFormat(Storage.Format.BINARY);
+        NoteList notes = storage.loadNotes();
+        notes.addItem("note 1", "note");
+        notes.addItem("note 2", "note");
+        notes.deleteItem("1");
+        storage.saveTask(notes);
+        storage.flush();
+
+        NotesStorage reloaded = new NotesStorage(filePath);
+        reloaded.setFormat(Storage.Format.BINARY);
+        assertEquals(2, reloaded.loadNotes().getItems().get(0).getId());
+    }
+
+    @Test
+    public void load_binaryFromSource_sourceCopiedAndKept() throws IOException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        Files.write(Path.of(filePath), List.of("1 | 2025-09-15 | note 1", "2 | 2025-09-15 | note 2"));
+        new Journal(Path.of(filePath)).append(List.of("delete | 1"));
+        String binaryPath = Storage.toBinaryPath(filePath);
+
+        NotesStorage storage = new NotesStorage(binaryPath);
+        storage.setFormat(Storage.Format.BINARY);
+        storage.setSourcePath(filePath);
+        NoteList notes = storage.loadNotes();
+        storage.flush();
+
+        assertEquals(List.of("2 | 2025-09-15 | note 2"), notes.serialize());
+        assertEquals(List.of("1 | 2025-09-15 | note 1", "2 | 2025-09-15 | note 2"),
+                Files.readAllLines(Path.of(filePath)));
+        assertTrue(new Journal(Path.of(filePath)).exists());
+
+        NotesStorage reloaded = new NotesStorage(binaryPath);
+        reloaded.setFormat(Storage.Format.BINARY);
+        assertEquals(notes.serialize(), reloaded.loadNotes().serialize());
+    }
+
+    @Test
+    public void saveChanges_unreadableFile_fileKept() throws IOException, InvalidCommandException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        BinarySnapshot.write(Path.of(filePath), List.of(new BinarySnapshot.Entry(1, (byte) 0, false, "note", 0, 0)));
+        byte[] bytes = Files.readAllBytes(Path.of(filePath));
+        Files.write(Path.of(filePath), Arrays.copyOf(bytes, bytes.length - 3));
+        byte[] truncated = Files.readAllBytes(Path.of(filePath));
+
+        NotesStorage storage = new NotesStorage(filePath);
+        storage.setJournaled(true);
+        NoteList notes = storage.loadNotes();
+        assertEquals(0, notes.size());
+        notes.addItem("note 2", "note");
+
+        try {
+            storage.saveChanges(notes);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Changes are not saved"));
+        }
+        try {
+            storage.saveTask(notes);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Changes are not saved"));
+        }
+        storage.flush();
+        assertArrayEquals(truncated, Files.readAllBytes(Path.of(filePath)));
+        assertFalse(new Journal(Path.of(filePath)).exists());
+    }
+
+    @Test
+    public void toBinaryPath_textPath_extensionReplaced() {
+        String binaryPath = Path.of("data", "task.bin").toString();
+        assertEquals(binaryPath, Storage.toBinaryPath(Path.of("data", "task.txt").toString()));
+        assertEquals(binaryPath, Storage.toBinaryPath(Path.of("data", "task").toString()));
+    }
+
+    @Test
+    public void load_corruptedJournalRecord_restReplayed() throws IOException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        Files.write(Path.of(filePath), List.of("2025-09-15 | note 1", "2025-09-15 | note 2"));
+        Journal journal = new Journal(Path.of(filePath));
+        journal.append(List.of("add | #corrupted", "delete | 1", "delete | x", "add | 3 | 2025-09-15 | note 3"));
+
+        NotesStorage storage = new NotesStorage(filePath);
+        NoteList notes = storage.loadNotes();
+
+        assertEquals(2, storage.getCorruptedCount());
+        assertEquals(List.of("2 | 2025-09-15 | note 2", "3 | 2025-09-15 | note 3"), notes.serialize());
+        assertFalse(journal.exists());
+        assertEquals(List.of("add | #corrupted", "delete | x"), Files.readAllLines(journal.getRejectedPath()));
+        assertEquals(notes.serialize(), new NotesStorage(filePath).loadNotes().serialize());
+    }
+
+    @Test
+    public void load_journalAlreadyInSnapshot_recordsSkipped() throws IOException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        Files.write(Path.of(filePath), List.of("2 | 2025-09-15 | note 2", "3 | 2025-09-15 | note 3"));
+        new Journal(Path.of(filePath)).append(List.of("delete | 1", "add | 3 | 2025-09-15 | note 3"));
+
+        NotesStorage storage = new NotesStorage(filePath);
+        NoteList notes = storage.loadNotes();
+
+        assertEquals(0, storage.getCorruptedCount());
+        assertEquals(List.of("2 | 2025-09-15 | note 2", "3 | 2025-09-15 | note 3"), notes.serialize());
+    }
+
+    @Test
+    public void saveTask_clearsJournal_success() throws IOException, InvalidCommandException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        Storage storage = new Storage(filePath);
+        storage.setJournaled(true);
+        NoteList notes = new NoteList(storage.load(new ItemTree<>(), Note::new));
+        notes.addItem("note 1", "note");
+        storage.saveChanges(notes);
+        storage.saveTask(notes);
+
+        assertFalse(new Journal(Path.of(filePath)).exists());
+        assertEquals(1, new Storage(filePath).load(new ItemTree<>(), Note::new).size());
+    }
+
+    @Test
+    public void saveChanges_compactsJournal_success() throws IOException, InvalidCommandException {
+        NotesStorage storage = new NotesStorage(filePath);
+        storage.setJournaled(true);
+        storage.setCompactionThresholds(2, Long.MAX_VALUE);
+        NoteList notes = storage.loadNotes();
+        notes.addItem("note 1", "note");
+        storage.saveChanges(notes);
+        notes.addItem("note 2", "note");
+        storage.saveChanges(notes);
+        storage.awaitCompaction();
+        List<String> compacted = notes.serialize();
+        notes.deleteItem("1");
+        storage.saveChanges(notes);
+
+        assertEquals(compacted, Files.readAllLines(Path.of(filePath)));
+        assertEquals(List.of("delete | 1"), new Journal(Path.of(filePath)).readRecords());
+        assertEquals(notes.serialize(), new NotesStorage(filePath).loadNotes().serialize());
+    }
+
+    @Test
+    public void saveChanges_compaction_indexSaved() throws IOException, InvalidCommandException {
+        NotesStorage storage = new NotesStorage(filePath);
+        storage.setJournaled(true);
+        storage.setCompactionThresholds(2, Long.MAX_VALUE);
+        NoteList notes = storage.loadNotes();
+        notes.findItems("note");
+        notes.addItem("note 1", "note");
+        storage.saveChanges(notes);
+        assertFalse(Files.exists(Path.of(filePath + ".idx")));
+
+        notes.addItem("note 2", "note");
+        storage.saveChanges(notes);
+        storage.awaitCompaction();
+
+        assertTrue(Files.exists(Path.of(filePath + ".idx")));
+        assertTrue(new NotesStorage(filePath).loadNotes().getSearchIndex().isBuilt());
+    }
+
+    @Test
+    public void saveChanges_journaledBinary_compactedIntoBinary() throws IOException, InvalidCommandException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        Files.write(Path.of(filePath), List.of("2025-09-15 | note 1"));
+        NotesStorage storage = new NotesStorage(filePath);
+        storage.setJournaled(true);
+        storage.setFormat(Storage.Format.BINARY);
+        storage.setCompactionThresholds(2, Long.MAX_VALUE);
+        NoteList notes = storage.loadNotes();
+        assertTrue(BinarySnapshot.isBinary(Path.of(filePath)));
+
+        notes.addItem("note 2", "note");
+        storage.saveChanges(notes);
+        assertEquals(1, BinarySnapshot.read(Path.of(filePath)).size());
+        assertEquals(1, new Journal(Path.of(filePath)).readRecords().size());
+
+        notes.deleteItem("1");
+        storage.saveChanges(notes);
+        storage.awaitCompaction();
+
+        assertFalse(new Journal(Path.of(filePath)).exists());
+        assertEquals("note 2", BinarySnapshot.read(Path.of(filePath)).get(0).getText());
+        assertEquals(notes.serialize(), new NotesStorage(filePath).loadNotes().serialize());
+    }
+
+    @Test
+    public void load_parallel_success() throws IOException {
+        File f = new File(filePath);
+        if (!f.getParentFile().mkdirs()) {
+            System.out.println("Error creating parent directory.");
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            lines.add(i % 1000 == 999 ? "#corrupted " + i : "note " + i);
+        }
+        Files.write(Path.of(filePath), lines);
+
+        Storage storage = new Storage(filePath);
+        storage.setParallelLoadBytes(0);
+        ItemTree<Note> notes = storage.load(new ItemTree<>(), line -> {
+            if (line.contains("#")) {
+                storage.handleCorruptedItem(line);
+                return null;
+            }
+            return new Note(line);
+        });
+
+        assertEquals(19_980, notes.size());
+        assertEquals(20, storage.getCorruptedCount());
+        assertEquals("note 0", notes.get(0).getDescription());
+        assertEquals("note 1000", notes.get(999).getDescription());
+        assertEquals("note 19998", notes.get(19_979).getDescription());
     }
 }
@@ -0,0 +1,121 @@
+package lax.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StorageWriterTest {
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotPath;
+    private Journal journal;
+    private StorageWriter writer;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        snapshotPath = tempDir.resolve("task.txt");
+        Files.createFile(snapshotPath);
+        journal = new Journal(snapshotPath);
+        writer = new StorageWriter(snapshotPath, journal, new Compactor(snapshotPath, journal));
+    }
+
+    private Snapshot text(List<String> lines) {
+        return path -> StorageWriter.write(path, lines, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Test
+    public void submitRecord_sync_success() throws IOException {
+        writer.submitRecord("mark | 0");
+        assertEquals(List.of("mark | 0"), journal.readRecords());
+    }
+
+    @Test
+    public void submitRecord_group_success() throws IOException {
+        writer.setDurability(StorageWriter.Durability.GROUP);
+        writer.submitRecord("mark | 0");
+        writer.submitRecord("unmark | 0");
+        assertEquals(List.of("mark | 0", "unmark | 0"), journal.readRecords());
+    }
+
+    @Test
+    public void submitRecord_groupConcurrent_success() throws IOException, InterruptedException {
+        writer.setDurability(StorageWriter.Durability.GROUP);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String record = "mark | " + i;
+            threads.add(new Thread(() -> {
+                try {
+                    writer.submitRecord(record);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8, journal.readRecords().size());
+    }
+
+    @Test
+    public void submitRecord_asyncFlush_success() throws IOException {
+        writer.setDurability(StorageWriter.Durability.ASYNC);
+        writer.submitRecord("mark | 0");
+        writer.submitRecord("delete | 0");
+        writer.flush();
+        assertEquals(List.of("mark | 0", "delete | 0"), journal.readRecords());
+    }
+
+    @Test
+    public void submitSnapshot_supersedesRecords_success() throws IOException {
+        writer.setDurability(StorageWriter.Durability.ASYNC);
+        writer.submitRecord("add | todo | 0 | read book");
+        writer.submitSnapshot(text(List.of("todo | 0 | read book")));
+        writer.submitRecord("mark | 0");
+        writer.flush();
+
+        assertEquals(List.of("todo | 0 | read book"), Files.readAllLines(snapshotPath));
+        assertEquals(List.of("mark | 0"), journal.readRecords());
+    }
+
+    @Test
+    public void submitSnapshot_clearsJournal_success() throws IOException {
+        writer.submitRecord("mark | 0");
+        writer.submitSnapshot(text(List.of("todo | 1 | read book")));
+
+        assertFalse(journal.exists());
+        assertEquals(List.of("todo | 1 | read book"), Files.readAllLines(snapshotPath));
+    }
+
+    @Test
+    public void submitSnapshot_failedWrite_snapshotKept() throws IOException {
+        writer.submitSnapshot(text(List.of("todo | 1 | read book")));
+        writer.submitRecord("mark | 1");
+        try {
+            writer.submitSnapshot(path -> {
+                Files.writeString(path, "todo | 0 | ret");
+                throw new IOException("Disk full");
+            });
+            fail();
+        } catch (IOException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+
+        assertEquals(List.of("todo | 1 | read book"), Files.readAllLines(snapshotPath));
+        assertEquals(List.of("mark | 1"), journal.readRecords());
+    }
+}